@@ -5,6 +5,8 @@ plugins {
     java
     application
     kotlin("jvm") version "2.4.10"
+    kotlin("plugin.allopen") version "2.4.10"
+    id("org.jetbrains.kotlinx.benchmark") version "0.4.17"
 }
 
 repositories {
@@ -14,6 +16,8 @@ repositories {
 dependencies {
     implementation("com.sklogw.nylon:wlroots4j:0.1")
     implementation("org.java-gi:gtk:0.15.0")
+    testImplementation("io.kotest:kotest-runner-junit5:6.2.0")
+    testImplementation("io.kotest:kotest-assertions-core:6.2.0")
 }
 
 java {
@@ -33,6 +37,30 @@ tasks.withType<JavaExec> {
     enableAssertions = true
 }
 
+sourceSets.create("benchmark") {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+
+    dependencies {
+        implementation("org.jetbrains.kotlinx:kotlinx-benchmark-runtime:0.4.17")
+    }
+
+    configurations["benchmarkImplementation"].extendsFrom(configurations.implementation.get())
+}
+
+benchmark {
+    targets.register("benchmark")
+}
+
+allOpen {
+    annotation("org.openjdk.jmh.annotations.State")
+}
+
+tasks.test {
+    useJUnitPlatform()
+    jvmArgs("-ea")
+}
+
 application {
     mainClass = "compositor.CompositorKt"
     applicationDefaultJvmArgs += listOf(
@@ -40,4 +68,15 @@ application {
         "--enable-preview",
         "--enable-native-access=ALL-UNNAMED",
     )
-}
\ No newline at end of file
+}
+
+
+// End-to-end measurement on the headless backend, see compositor.harness.Harness
+tasks.register<JavaExec>("harness") {
+    group = "verification"
+    description = "Runs the compositor headless with synthetic input and clients, reports frame and input latency"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass = "compositor.harness.HarnessKt"
+    jvmArgs(application.applicationDefaultJvmArgs)
+    environment("WLR_RENDERER", "pixman")
+}
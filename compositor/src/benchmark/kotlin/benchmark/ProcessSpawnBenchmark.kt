@@ -0,0 +1,95 @@
+package benchmark
+
+import compositor.ProcessLauncher
+import kotlinx.benchmark.*
+import org.openjdk.jmh.annotations.Level
+import wayland.server.Display
+import wayland.server.TaskQueue
+
+
+/**
+ * Event loop turnaround during a burst of [burstSize] process launches: the time until the loop thread runs a
+ * task queued right before the burst, which is the stall clients would see.
+ *
+ * - `direct`: `ProcessBuilder.start()` called on the loop thread, like the compositor used to
+ * - `launcher`: through the real [ProcessLauncher], results come back through the [TaskQueue]
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 1000, timeUnit = BenchmarkTimeUnit.MILLISECONDS)
+@Measurement(iterations = 4)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(BenchmarkTimeUnit.MILLISECONDS)
+open class ProcessSpawnBenchmark {
+
+    @Param("1", "10")
+    var burstSize = 0
+
+    @Param("direct", "launcher")
+    var mode = ""
+
+    val display: Display = Display.create()
+    val taskQueue: TaskQueue = TaskQueue.create(display.eventLoop)
+    val launcher = ProcessLauncher(taskQueue)
+    val processes = mutableListOf<Process>()
+
+    /** Launches that haven't reported back to the loop thread yet. */
+    var pending = 0
+    var pinged = false
+
+
+    @TearDown(Level.Invocation)
+    fun reap() {
+        // Not part of the measurement: wait for the launches to report back, then for the processes to exit
+        dispatchUntil { pending == 0 }
+        processes.forEach { it.waitFor() }
+        processes.clear()
+    }
+
+
+    @TearDown
+    fun tearDown() {
+        taskQueue.close()
+        display.destroy()
+    }
+
+
+    @Benchmark
+    fun burst() {
+        pinged = false
+        taskQueue.execute { pinged = true }
+
+        pending += burstSize
+        repeat(burstSize) {
+            when (mode) {
+                "direct" -> try {
+                    processes += ProcessBuilder(COMMAND).start()
+                } finally {
+                    pending--
+                }
+
+                "launcher" -> launcher.launch(COMMAND) { result ->
+                    try {
+                        if (result is ProcessLauncher.Result.Started) processes += result.process
+                    } finally {
+                        pending--
+                    }
+                }
+
+                else -> error("Unknown mode: $mode")
+            }
+        }
+        dispatchUntil { pinged }
+    }
+
+
+    private fun dispatchUntil(done: () -> Boolean) {
+        while (!done()) {
+            display.eventLoop.dispatch(100)
+        }
+    }
+
+
+    companion object {
+        val COMMAND = listOf("/bin/true")
+    }
+}
@@ -6,7 +6,10 @@ import compositor.inspector.Inspector
 import compositor.output.OutputSystem
 import compositor.windows.WindowSystem
 import wayland.server.Display
+import wayland.server.EventLoopTimers
 import wayland.server.Listener
+import wayland.server.SignalStats
+import wayland.server.TaskQueue
 import wlroots.backend.Backend
 import wlroots.render.Allocator
 import wlroots.render.Renderer
@@ -19,7 +22,11 @@ import kotlin.system.exitProcess
 import wlroots.types.compositor.Compositor as WlrCompositor
 
 
-class Compositor(val terminalPath: String? = null) {
+/**
+ * @param headless Run on the wlroots headless backend: no outputs nor inputs until added, no GPU needed
+ *     (use with `WLR_RENDERER=pixman`). Doesn't start the terminal nor the inspector.
+ */
+class Compositor(val terminalPath: String? = null, val headless: Boolean = false) {
     val display: Display
     val backend: Backend
     val renderer: Renderer
@@ -30,6 +37,14 @@ class Compositor(val terminalPath: String? = null) {
     val outputSystem: OutputSystem
     val inputSystem: InputSystem
     val windowSystem: WindowSystem
+    val sceneUpdates: SceneUpdates
+
+    val timers: EventLoopTimers
+    val watchdog: Watchdog
+
+    /** Runs code submitted from other threads on the event loop thread. */
+    val taskQueue: TaskQueue
+    val processLauncher: ProcessLauncher
 
     val onBackendNewInputListener: Listener
     val onBackendNewOutputListener: Listener
@@ -47,7 +62,10 @@ class Compositor(val terminalPath: String? = null) {
 
     init {
         display = Display.create()
-        backend = Backend.autocreate(display.eventLoop, null) ?: error("Failed to create wlr_backend")
+        backend = when {
+            headless -> Backend.createHeadless(display.eventLoop)
+            else -> Backend.autocreate(display.eventLoop, null)
+        } ?: error("Failed to create wlr_backend")
         renderer = Renderer.autocreate(backend) ?: error("Failed to create wlr_renderer")
         renderer.initWlDisplay(display)
         allocator = Allocator.autocreate(backend, renderer) ?: error("Failed to create wlr_allocator")
@@ -58,10 +76,15 @@ class Compositor(val terminalPath: String? = null) {
         DataDeviceManager.create(display)
 
         xcursorManager = XcursorManager.create(null, 24) ?: error("Failed to create wlr_xcursor_manager")
+        timers = EventLoopTimers.create(display.eventLoop)
+        watchdog = Watchdog(timers)
+        taskQueue = TaskQueue.create(display.eventLoop)
+        processLauncher = ProcessLauncher(taskQueue)
 
         COMPOSITOR = this
 
         windowSystem = WindowSystem(this)
+        sceneUpdates = SceneUpdates(this)
         outputSystem = OutputSystem(this)
         inputSystem = InputSystem(this)
 
@@ -99,14 +122,17 @@ class Compositor(val terminalPath: String? = null) {
             exitProcess(1)
         }
 
-        // TODO: Delete, take from command line
-        startProcess("/usr/bin/foot")
+        if (!headless) {
+            // TODO: Delete, take from command line
+            startProcess("/usr/bin/foot")
 
-        // Run the dummy shell thingy
-        val dummy = Inspector(socket)
-        dummy.run()
+            // Run the dummy shell thingy
+            val dummy = Inspector(socket)
+            dummy.run()
+        }
 
         Log.logInfo("Running Wayland compositor on WAYLAND_DISPLAY=$socket")
+        watchdog.start()
         display.run()
         cleanup()
     }
@@ -120,6 +146,10 @@ class Compositor(val terminalPath: String? = null) {
 
     fun cleanup() {
         // Cleanup resources, must run after the wl_display_run() returns
+        watchdog.stop()
+        taskQueue.close()
+        timers.close()
+        sceneUpdates.cleanup()
         display.destroyClients()
         windowSystem.scene.destroy()
         xcursorManager.destroy()
@@ -135,12 +165,20 @@ class Compositor(val terminalPath: String? = null) {
     }
 
 
+    /**
+     * Log frame timings of all outputs, the slowest signal handlers if signal timing is enabled (start with
+     * `-Dwlroots4j.signalStats=true`), and event loop stalls.
+     */
+    fun logDiagnostics() {
+        Log.logInfo("Frame timings:\n" + outputSystem.dumpFrameTimings())
+        if (SignalStats.isEnabled()) Log.logInfo(SignalStats.report(20))
+        Log.logInfo(watchdog.dump())
+    }
+
+
+    /** Start a client without blocking the event loop, see [ProcessLauncher]. */
     fun startProcess(processPath: String) {
-        ProcessBuilder().apply {
-            command(processPath)
-            environment().put("WAYLAND_DISPLAY", socket)
-            start()
-        }
+        processLauncher.launch(listOf(processPath), mapOf("WAYLAND_DISPLAY" to socket))
     }
 }
 
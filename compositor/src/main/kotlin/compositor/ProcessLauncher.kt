@@ -0,0 +1,61 @@
+package compositor
+
+import wayland.server.TaskQueue
+import wlroots.util.Log
+import java.util.concurrent.RejectedExecutionException
+
+
+/**
+ * Starts processes without blocking the event loop thread. `ProcessBuilder.start()` forks the whole JVM,
+ * which can take tens of milliseconds, and meanwhile no client gets served.
+ *
+ * Every launch runs on its own virtual thread, the result is handed to the `onResult` callback back on the
+ * event loop thread through the [TaskQueue].
+ */
+class ProcessLauncher(val taskQueue: TaskQueue) {
+
+    sealed interface Result {
+        val command: List<String>
+
+        /** @param spawnNanos How long `ProcessBuilder.start()` took on the launcher thread */
+        data class Started(override val command: List<String>, val process: Process, val spawnNanos: Long) : Result
+
+        data class Failed(override val command: List<String>, val error: Exception) : Result
+    }
+
+
+    fun launch(
+        command: List<String>,
+        environment: Map<String, String> = emptyMap(),
+        onResult: (Result) -> Unit = ::logResult,
+    ) {
+        Thread.ofVirtual().name("launcher-${command.first()}").start {
+            val result = try {
+                val start = System.nanoTime()
+                val process = ProcessBuilder(command).apply { environment().putAll(environment) }.start()
+                Result.Started(command, process, System.nanoTime() - start)
+            } catch (e: Exception) {
+                Result.Failed(command, e)
+            }
+            try {
+                taskQueue.execute { onResult(result) }
+            } catch (_: RejectedExecutionException) {
+                // The compositor is shutting down, nobody will take care of the process
+                (result as? Result.Started)?.process?.destroy()
+            }
+        }
+    }
+
+
+    companion object {
+        fun logResult(result: Result) {
+            when (result) {
+                is Result.Started -> Log.logInfo(
+                    "Started ${result.command} as pid ${result.process.pid()} in %.1fms"
+                        .format(result.spawnNanos / 1_000_000.0))
+
+                is Result.Failed -> Log.logError("Failed to start ${result.command}: ${result.error}")
+            }
+        }
+    }
+}
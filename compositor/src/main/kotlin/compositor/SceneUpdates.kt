@@ -0,0 +1,111 @@
+package compositor
+
+import compositor.windows.Window
+import wayland.server.EventSource
+
+
+/**
+ * Coalesces window moves and resizes requested by input handlers, and applies them once per event loop
+ * iteration from an idle source.
+ *
+ * High-rate mice send several motion events per frame, and moving the scene node on every one of them makes
+ * wlroots recompute the damage each time, while only the last position is ever shown. For resizes it's worse,
+ * every motion event would send the client a configure. Here, only the latest requested geometry of each
+ * window is kept, and the idle source applies it after the loop has dispatched all pending events.
+ *
+ * Reads of the scene node position see the old value until [flush] runs, flush before when that matters.
+ */
+class SceneUpdates(val compositor: Compositor) {
+
+    private class PendingMove(var x: Int, var y: Int)
+    private class PendingResize(var x: Int, var y: Int, var width: Int, var height: Int)
+
+    private val pendingMoves = LinkedHashMap<Window, PendingMove>()
+    private val pendingResizes = LinkedHashMap<Window, PendingResize>()
+    private var idleSource: EventSource? = null
+
+    /** Number of requests replaced by a later one before they were applied, for diagnostics. */
+    var coalescedCount = 0L
+        private set
+
+
+    fun setPosition(window: Window, x: Int, y: Int) {
+        val pending = pendingMoves[window]
+        if (pending == null) {
+            pendingMoves[window] = PendingMove(x, y)
+        } else {
+            pending.x = x
+            pending.y = y
+            coalescedCount++
+        }
+        scheduleFlush()
+    }
+
+
+    /** Coalesced [compositor.windows.WindowSystem.moveAndResizeAtomic]. */
+    fun moveAndResize(window: Window, x: Int, y: Int, width: Int, height: Int) {
+        val pending = pendingResizes[window]
+        if (pending == null) {
+            pendingResizes[window] = PendingResize(x, y, width, height)
+        } else {
+            pending.x = x
+            pending.y = y
+            pending.width = width
+            pending.height = height
+            coalescedCount++
+        }
+        scheduleFlush()
+    }
+
+
+    /** Drop the pending updates of [window], e.g. when restoring its starting geometry. */
+    fun cancel(window: Window) {
+        pendingMoves.remove(window)
+        pendingResizes.remove(window)
+    }
+
+
+    /** Apply all pending updates now. */
+    fun flush() {
+        idleSource?.remove()
+        idleSource = null
+        apply()
+    }
+
+
+    fun cleanup() {
+        idleSource?.remove()
+        idleSource = null
+        pendingMoves.clear()
+        pendingResizes.clear()
+    }
+
+
+    private fun scheduleFlush() {
+        if (idleSource == null) {
+            idleSource = compositor.display.eventLoop.addIdle(::onIdle)
+        }
+    }
+
+
+    private fun onIdle() {
+        idleSource = null
+        apply()
+    }
+
+
+    private fun apply() {
+        for ((window, move) in pendingMoves) {
+            if (!window.isDestroyed) window.sceneTree.setPosition(move.x, move.y)
+        }
+        pendingMoves.clear()
+
+        for ((window, resize) in pendingResizes) {
+            if (!window.isDestroyed) {
+                compositor.windowSystem.moveAndResizeAtomic(
+                    window, resize.x, resize.y, resize.width, resize.height)
+            }
+        }
+        pendingResizes.clear()
+    }
+}
@@ -1,8 +1,7 @@
 package compositor
 
-import wayland.server.EventLoop
-import wayland.server.EventSource
-import java.lang.foreign.Arena
+import nylon.TimerWheel
+import wayland.server.EventLoopTimers
 import java.util.EnumSet
 
 
@@ -22,48 +21,44 @@ inline fun error(block: () -> Any): Nothing =
     error(block())
 
 
-abstract class Timer(eventLoop: EventLoop) {
-    private val arena = Arena.ofShared() // TODO: Why not confined?
-    private val eventSource: EventSource
+/**
+ * Periodic timer, calls [callback] every `delayMs` after [start] until [stop]. All timers share the single
+ * event source of [EventLoopTimers].
+ */
+abstract class Timer(private val timers: EventLoopTimers) {
+    private var timeout: TimerWheel.Timeout? = null
     private var delay: Int = 0
     private var removed = false
 
 
-    init {
-        eventSource = eventLoop.addTimer(arena, ::loop)
-    }
-
-
     abstract fun callback()
 
 
     fun start(delayMs: Int) {
         require(!removed)
+        timeout?.cancel()
         delay = delayMs
-        eventSource.timerUpdate(delay)
-
+        timeout = if (delay > 0) timers.schedule(delay.toLong(), ::loop) else null
     }
 
 
     fun stop() {
         require(!removed)
+        timeout?.cancel()
+        timeout = null
         delay = 0
-        eventSource.timerUpdate(delay)
     }
 
 
     fun cleanup() {
         stop()
-        eventSource.remove()
-        arena.close()
         removed = true
     }
 
 
-    private fun loop(): Int {
+    private fun loop() {
         require(!removed)
+        timeout = timers.schedule(delay.toLong(), ::loop)
         callback()
-        eventSource.timerUpdate(delay)
-        return 0
     }
-}
\ No newline at end of file
+}
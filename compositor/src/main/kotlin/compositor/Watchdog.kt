@@ -0,0 +1,113 @@
+package compositor
+
+import wayland.server.EventLoopTimers
+import wlroots.util.Log
+
+
+/**
+ * Detects stalls of the event loop thread, the one running `display.run()`. Everything in the compositor runs
+ * on it, so when a callback blocks, all clients freeze.
+ *
+ * A heartbeat timer on the event loop records when the loop last turned. A monitoring thread checks the
+ * heartbeat, and when it's older than [thresholdMs], captures the stack trace of the loop thread. When the loop
+ * turns again, the stall is recorded with its duration (the gap between the two heartbeats).
+ *
+ * Must be created on the event loop thread.
+ */
+class Watchdog(timers: EventLoopTimers, val thresholdMs: Long = 250, val heartbeatMs: Int = 50) {
+
+    data class Stall(val startNanos: Long, val durationNanos: Long, val stackTrace: List<StackTraceElement>) {
+        override fun toString(): String {
+            return "Stall of %.1fms at:\n".format(durationNanos / 1_000_000.0) +
+                stackTrace.joinToString("\n") { "    at $it" }
+        }
+    }
+
+    private val loopThread = Thread.currentThread()
+    private var monitorThread: Thread? = null
+
+    @Volatile
+    private var lastHeartbeat = System.nanoTime()
+
+    private val heartbeat = object : Timer(timers) {
+        override fun callback() {
+            lastHeartbeat = System.nanoTime()
+        }
+    }
+
+    // Written by the monitoring thread, read by anyone
+    private val lock = Any()
+    private val recentStalls = ArrayDeque<Stall>()
+    private var stallCount = 0L
+    private var longestStallNanos = 0L
+
+
+    fun start() {
+        check(monitorThread == null) { "Watchdog already started" }
+        lastHeartbeat = System.nanoTime()
+        heartbeat.start(heartbeatMs)
+        monitorThread = Thread.ofPlatform().daemon().name("event-loop-watchdog").start(::monitor)
+    }
+
+
+    /** Stop monitoring, must be called on the event loop thread. */
+    fun stop() {
+        monitorThread?.interrupt()
+        monitorThread = null
+        heartbeat.cleanup()
+    }
+
+
+    /** The most recent stalls, oldest first. */
+    fun recentStalls(): List<Stall> = synchronized(lock) { recentStalls.toList() }
+
+
+    fun dump(): String = synchronized(lock) {
+        "Event loop stalls: count=$stallCount longest=%.1fms threshold=${thresholdMs}ms\n"
+            .format(longestStallNanos / 1_000_000.0) + recentStalls.joinToString("\n")
+    }
+
+
+    private fun monitor() {
+        val thresholdNanos = thresholdMs * 1_000_000
+        var stallStart = 0L
+        var stallStackTrace: List<StackTraceElement>? = null
+
+        while (true) {
+            try {
+                Thread.sleep(thresholdMs / 4)
+            } catch (_: InterruptedException) {
+                return
+            }
+
+            val beat = lastHeartbeat
+            if (stallStackTrace == null) {
+                if (System.nanoTime() - beat > thresholdNanos) {
+                    // Capture while it's still stuck, that's where the time goes
+                    stallStart = beat
+                    stallStackTrace = loopThread.stackTrace.toList()
+                    Log.logError("Event loop hasn't turned for over ${thresholdMs}ms")
+                }
+            } else if (beat != stallStart) {
+                record(Stall(stallStart, beat - stallStart, stallStackTrace))
+                stallStackTrace = null
+            }
+        }
+    }
+
+
+    private fun record(stall: Stall) {
+        synchronized(lock) {
+            stallCount++
+            longestStallNanos = maxOf(longestStallNanos, stall.durationNanos)
+            if (recentStalls.size == MAX_RECENT_STALLS) recentStalls.removeFirst()
+            recentStalls.addLast(stall)
+        }
+        Log.logError(stall.toString())
+    }
+
+
+    companion object {
+        const val MAX_RECENT_STALLS = 16
+    }
+}
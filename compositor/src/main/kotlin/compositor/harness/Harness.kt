@@ -0,0 +1,201 @@
+package compositor.harness
+
+import compositor.Compositor
+import compositor.ProcessLauncher
+import linux.KeyCode
+import linux.MouseButton
+import nylon.LatencyHistogram
+import wayland.KeyboardKeyState
+import wayland.PointerButtonState
+import wlroots.types.keyboard.VirtualKeyboard
+import wlroots.types.pointer.VirtualPointer
+import wlroots.util.Log
+import java.io.File
+import kotlin.math.cos
+import kotlin.math.sin
+
+
+/**
+ * End-to-end measurement of the compositor: boots [Compositor] on the headless backend, starts [Config.clients]
+ * clients, and drives a virtual pointer and keyboard for [Config.durationSec] seconds:
+ *
+ * - the pointer circles at [Config.pointerHz] (a high-rate mouse), which exercises `CursorInputState`,
+ * - every few seconds the window under the pointer is Alt-dragged (interactive move through `WindowSystem`),
+ * - a key is typed now and then, delivered to the focused client.
+ *
+ * Reports per second: frames rendered, input-to-commit latency (pointer motion until the next output commit
+ * that rendered a new frame), and memory; at the end, the frame timings of the output.
+ *
+ * Run with `./gradlew harness --args="--clients=4 --duration=30 --client=foot"`, it sets `WLR_RENDERER=pixman`.
+ */
+class Harness(val config: Config) {
+
+    data class Config(
+        val clients: Int = 2,
+        val durationSec: Int = 30,
+        val clientCommand: List<String> = listOf("foot"),
+        val pointerHz: Int = 250,
+        val outputWidth: Int = 1920,
+        val outputHeight: Int = 1080,
+    )
+
+    data class Sample(
+        val second: Int,
+        val frames: Long,
+        val inputToCommitP50Nanos: Long,
+        val inputToCommitP99Nanos: Long,
+        val heapUsedBytes: Long,
+        val residentBytes: Long,
+    ) {
+        override fun toString(): String =
+            "t=%3ds frames=%4d input-to-commit p50=%.2fms p99=%.2fms heap=%.1fMB rss=%.1fMB".format(
+                second, frames, inputToCommitP50Nanos / 1e6, inputToCommitP99Nanos / 1e6,
+                heapUsedBytes / MB, residentBytes / MB)
+    }
+
+    val compositor = Compositor(headless = true)
+    val pointer = VirtualPointer.create("harness-pointer")
+    val keyboard = VirtualKeyboard.create("harness-keyboard")
+    val clients = mutableListOf<Process>()
+
+    val samples = mutableListOf<Sample>()
+    private val inputToCommit = LatencyHistogram()
+    private var framesThisSecond = 0L
+
+    /** Time of the first motion not yet followed by a rendered frame, 0 if none. */
+    private var pendingInputNanos = 0L
+    private var tick = 0L
+    private val startNanos = System.nanoTime()
+
+
+    init {
+        compositor.backend.headlessAddOutput(config.outputWidth, config.outputHeight)
+        compositor.backend.emitNewInput(pointer.pointer)
+        compositor.backend.emitNewInput(keyboard.keyboard)
+
+        compositor.outputSystem.onFrameCommitted = { _, commitEnd ->
+            framesThisSecond++
+            if (pendingInputNanos != 0L) {
+                inputToCommit.record(commitEnd - pendingInputNanos)
+                pendingInputNanos = 0L
+            }
+        }
+    }
+
+
+    /** Blocks until the run is over. */
+    fun run() {
+        val timers = compositor.timers
+        // Zero delays fire once the event loop runs, the socket exists by then
+        timers.schedule(0) { startClients() }
+        timers.schedule(0, ::driveInput)
+        timers.schedule(1000, ::sample)
+        timers.schedule(config.durationSec * 1000L) { compositor.stop() }
+
+        // Returns after stop(), cleaned up
+        compositor.start()
+        clients.forEach { it.destroy() }
+    }
+
+
+    fun report(): String {
+        return buildString {
+            appendLine("Headless run: ${config.clients} x ${config.clientCommand}, ${config.durationSec}s")
+            samples.forEach { appendLine(it) }
+            appendLine(compositor.outputSystem.dumpFrameTimings())
+        }
+    }
+
+
+    private fun startClients() {
+        repeat(config.clients) {
+            compositor.processLauncher.launch(config.clientCommand, mapOf("WAYLAND_DISPLAY" to compositor.socket)) {
+                if (it is ProcessLauncher.Result.Started) clients += it.process
+                ProcessLauncher.logResult(it)
+            }
+        }
+    }
+
+
+    /** One pointer event, plus the scripted key presses and drags. Reschedules itself at [Config.pointerHz]. */
+    private fun driveInput() {
+        val periodMs = (1000L / config.pointerHz).coerceAtLeast(1)
+        compositor.timers.schedule(periodMs, ::driveInput)
+
+        val time = timeMsec()
+        val ticksPerSecond = 1000 / periodMs
+        val phase = tick % (ticksPerSecond * 5)
+        when (phase) {
+            // Alt-drag during the last second of every 5
+            ticksPerSecond * 4 -> {
+                keyboard.key(time, KeyCode.LeftAlt, KeyboardKeyState.Pressed)
+                pointer.button(time, MouseButton.Left, PointerButtonState.Pressed)
+                pointer.frame()
+            }
+            ticksPerSecond * 5 - 1 -> {
+                pointer.button(time, MouseButton.Left, PointerButtonState.Released)
+                pointer.frame()
+                keyboard.key(time, KeyCode.LeftAlt, KeyboardKeyState.Released)
+            }
+            ticksPerSecond * 2 -> {
+                keyboard.key(time, KeyCode.A, KeyboardKeyState.Pressed)
+                keyboard.key(time, KeyCode.A, KeyboardKeyState.Released)
+            }
+        }
+
+        // Circle of 200px radius, one turn per 2 seconds
+        val angle = tick * Math.PI / ticksPerSecond
+        val speed = 200 * Math.PI / ticksPerSecond
+        if (pendingInputNanos == 0L) pendingInputNanos = System.nanoTime()
+        pointer.motion(time, -sin(angle) * speed, cos(angle) * speed)
+        pointer.frame()
+        tick++
+    }
+
+
+    private fun sample() {
+        compositor.timers.schedule(1000, ::sample)
+        val runtime = Runtime.getRuntime()
+        samples += Sample(
+            second = ((System.nanoTime() - startNanos) / 1_000_000_000).toInt(),
+            frames = framesThisSecond,
+            inputToCommitP50Nanos = inputToCommit.percentile(50.0),
+            inputToCommitP99Nanos = inputToCommit.percentile(99.0),
+            heapUsedBytes = runtime.totalMemory() - runtime.freeMemory(),
+            residentBytes = residentBytes(),
+        )
+        framesThisSecond = 0
+        inputToCommit.reset()
+    }
+
+
+    companion object {
+        const val MB = 1024.0 * 1024.0
+
+        fun timeMsec(): Int = (System.nanoTime() / 1_000_000).toInt()
+
+        /** Resident set size of the whole process, native memory included. */
+        fun residentBytes(): Long {
+            val residentPages = File("/proc/self/statm").readText().split(" ")[1].toLong()
+            return residentPages * 4096
+        }
+    }
+}
+
+
+fun main(args: Array<String>) {
+    Log.init(Log.Importance.Info)
+
+    val options = args.associate { it.removePrefix("--").substringBefore("=") to it.substringAfter("=") }
+    val defaults = Harness.Config()
+    val config = Harness.Config(
+        clients = options["clients"]?.toInt() ?: defaults.clients,
+        durationSec = options["duration"]?.toInt() ?: defaults.durationSec,
+        clientCommand = options["client"]?.split(" ") ?: defaults.clientCommand,
+        pointerHz = options["pointer-hz"]?.toInt() ?: defaults.pointerHz,
+    )
+
+    val harness = Harness(config)
+    harness.run()
+    println(harness.report())
+}
@@ -18,8 +18,8 @@ class Cursor(val compositor: Compositor) {
         with(events) {
             listeners.addAll(
                 arrayOf(
-                    motion.add(::onCursorMotion),
-                    motionAbsolute.add(::onCursorMotionAbsolute),
+                    motion.addFlyweight(PointerMotionEvent::View, ::onCursorMotion),
+                    motionAbsolute.addFlyweight(PointerMotionAbsoluteEvent::View, ::onCursorMotionAbsolute),
                     button.add(::onCursorButton),
                     axis.add(::onCursorAxis),
                     frame.add(::onCursorFrame)
@@ -35,13 +35,13 @@ class Cursor(val compositor: Compositor) {
     }
 
 
-    fun onCursorMotion(event: PointerMotionEvent) {
+    fun onCursorMotion(event: PointerMotionEvent.View) {
         wlrCursor.move(event.pointer, event.deltaX, event.deltaY)
         compositor.captureMode.onCursorMotion(event.timeMsec)
     }
 
 
-    fun onCursorMotionAbsolute(event: PointerMotionAbsoluteEvent) {
+    fun onCursorMotionAbsolute(event: PointerMotionAbsoluteEvent.View) {
         wlrCursor.warpAbsolute(event.pointer, event.x, event.y)
         compositor.captureMode.onCursorMotion(event.timeMsec)
     }
@@ -5,15 +5,14 @@ import compositor.Compositor
 import compositor.input.CursorInputState.InitiatedWith
 import compositor.windows.Window
 import wayland.KeyboardKeyState
-import wayland.util.Edge
 import wayland.util.Edge.Left
 import wayland.util.Edge.Top
+import wayland.util.EdgeMask
 import wlroots.types.pointer.PointerButtonEvent
-import java.util.*
 
 
 // Should go to input package (maybe compositor.input)
-typealias Edges = EnumSet<Edge>
+typealias Edges = EdgeMask
 
 
 class CursorInputMode(val compositor: Compositor) {
@@ -27,6 +26,8 @@ class CursorInputMode(val compositor: Compositor) {
 
     fun transitionToPassthrough() {
         require(state is CursorInputState.WindowMove || state is CursorInputState.WindowResize)
+        // The final geometry of the move or resize must be applied before the pointer is passed through
+        compositor.sceneUpdates.flush()
         state = CursorInputState.Passthrough(compositor)
     }
 
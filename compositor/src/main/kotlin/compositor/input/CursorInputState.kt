@@ -2,7 +2,6 @@ package compositor.input
 
 import compositor.COMPOSITOR
 import compositor.Compositor
-import compositor.enumSetOf
 import compositor.unreachable
 import compositor.windows.Window
 import compositor.windows.WindowSystem
@@ -10,6 +9,7 @@ import linux.MouseButton
 import wayland.KeyboardKeyState
 import wayland.PointerButtonState
 import wayland.util.Edge
+import wayland.util.EdgeMask
 import wlroots.types.keyboard.KeyboardModifier
 import wlroots.types.pointer.PointerButtonEvent
 import wlroots.util.Box
@@ -88,7 +88,7 @@ sealed class CursorInputState(val compositor: Compositor) {
             // TODO: Maybe swap the order, first change the focus, then send the pointer notify event?
 
             // Check for Alt key modifier to start dragging
-            val altPressed = COMPOSITOR.seat.keyboard!!.keyboardModifiers.contains(KeyboardModifier.Alt)
+            val altPressed = COMPOSITOR.seat.keyboard!!.modifierMask.contains(KeyboardModifier.Alt)
             val lmbPressed = event.button == MouseButton.Left && event.state == PointerButtonState.Pressed
             val rmbPressed = event.button == MouseButton.Right && event.state.isPressed
             when {
@@ -128,7 +128,7 @@ sealed class CursorInputState(val compositor: Compositor) {
                     val halfX = coordX + (width / 2)
                     val halfY = coordY + (height / 2)
 
-                    val edges = enumSetOf(
+                    val edges = EdgeMask.of(
                         if (cursorX <= halfX) Edge.Left else Edge.Right,
                         if (cursorY <= halfY) Edge.Top else Edge.Bottom
                     )
@@ -214,6 +214,7 @@ sealed class CursorInputState(val compositor: Compositor) {
         override fun onKeyboardKey(keysym: Int, state: KeyboardKeyState): Boolean {
             if (keysym == XkbKey.Escape) {
                 // Stop the move, restore starting window position
+                compositor.sceneUpdates.cancel(targetWindow)
                 grabbedSceneTree.setPosition(startingX, startingY)
                 compositor.captureMode.transitionToPassthrough()
                 return true
@@ -249,7 +250,9 @@ sealed class CursorInputState(val compositor: Compositor) {
                 "BUG: Trying to move a non existent window"
             }
             check(!targetWindow.isDestroyed)
-            grabbedSceneTree.setPosition((cursor.wlrCursor.x - grabX), (cursor.wlrCursor.y - grabY))
+            // Coalesced, high-rate mice send several motion events per frame
+            compositor.sceneUpdates.setPosition(
+                targetWindow, (cursor.wlrCursor.x - grabX).toInt(), (cursor.wlrCursor.y - grabY).toInt())
         }
 
 
@@ -297,7 +300,9 @@ sealed class CursorInputState(val compositor: Compositor) {
         CursorInputState(compositor) {
 
         val cursor = COMPOSITOR.inputSystem.cursor
-        var grabbedGeometry: Box // TODO: var needed?
+
+        // Layout coordinates of the window geometry when the resize started
+        val grabbedGeometry: Box.Snapshot
 
         //        val grabbedSceneTree = compositor.windowSystem.toplevelSceneTree[grabbedToplevel]!!
         val grabbedSceneTree = targetWindow.sceneTree
@@ -312,22 +317,22 @@ sealed class CursorInputState(val compositor: Compositor) {
         var grabY: Double
 
         init {
-            val geometry = targetWindow.xdgToplevel.base.geometry
-            val borderX = (grabbedSceneTree.x + geometry.x) + if (Edge.Right in edges) geometry.width else 0
-            val borderY = (grabbedSceneTree.y + geometry.y) + if (Edge.Bottom in edges) geometry.height else 0
-            grabX = cursor.wlrCursor.x - borderX
-            grabY = cursor.wlrCursor.y - borderY
-            grabbedGeometry = Box.allocateCopy(geometry).apply {
-                x += grabbedSceneTree.x
-                y += grabbedSceneTree.y
-            }
+            val geometry = targetWindow.xdgToplevel.base.geometry.snapshot()
+            val treePosition = grabbedSceneTree.position()
+            val cursorPosition = cursor.wlrCursor.position()
+            val borderX = (treePosition.x + geometry.x) + if (Edge.Right in edges) geometry.width else 0
+            val borderY = (treePosition.y + geometry.y) + if (Edge.Bottom in edges) geometry.height else 0
+            grabX = cursorPosition.x - borderX
+            grabY = cursorPosition.y - borderY
+            grabbedGeometry = Box.Snapshot(
+                geometry.x + treePosition.x, geometry.y + treePosition.y, geometry.width, geometry.height)
         }
 
 
         override fun onKeyboardKey(keysym: Int, state: KeyboardKeyState): Boolean {
             when (keysym) {
                 XkbKey.Escape -> {
-
+                    compositor.sceneUpdates.cancel(targetWindow)
                     compositor.windowSystem.moveAndResizeAtomic(
                         targetWindow,
                         startingX, startingY,
@@ -352,8 +357,10 @@ sealed class CursorInputState(val compositor: Compositor) {
 
 
         override fun onCursorMotion(timeMsec: Int) {
-            val borderX = (cursor.wlrCursor.x - grabX).toInt()
-            val borderY = (cursor.wlrCursor.y - grabY).toInt()
+            // Snapshots, this runs for every motion event
+            val cursorPosition = cursor.wlrCursor.position()
+            val borderX = (cursorPosition.x - grabX).toInt()
+            val borderY = (cursorPosition.y - grabY).toInt()
 
             // Coordinates for new (resized) vertices
             var left = grabbedGeometry.x
@@ -386,7 +393,7 @@ sealed class CursorInputState(val compositor: Compositor) {
                 }
             }
 
-            val geometry = targetWindow.xdgToplevel.base.geometry
+            val geometry = targetWindow.xdgToplevel.base.geometry.snapshot()
 //            grabbedSceneNode.setPosition(left - geometry.x, top - geometry.y)
 //            grabbedToplevel.setSize(right - left, bottom - top)
 
@@ -394,7 +401,7 @@ sealed class CursorInputState(val compositor: Compositor) {
             val positionY = top - geometry.y
             val width = right - left
             val height = bottom - top
-            compositor.windowSystem.moveAndResizeAtomic(targetWindow, positionX, positionY, width, height)
+            compositor.sceneUpdates.moveAndResize(targetWindow, positionX, positionY, width, height)
         }
 
 
@@ -6,25 +6,24 @@ import compositor.input.CursorInputState.*
 import wayland.KeyboardKeyState
 import wayland.KeyboardKeyState.Pressed
 import wayland.KeyboardKeyState.Released
-import wayland.server.Listener
+import wayland.server.ListenerGroup
 import wlroots.types.input.InputDevice
 import wlroots.types.keyboard.KeyEvent
 import wlroots.types.keyboard.Keyboard
-import wlroots.types.keyboard.KeyboardModifier
 import wlroots.types.keyboard.KeyboardModifier.Alt
+import wlroots.types.keyboard.ModifierMask
 import wlroots.util.Log
 import xkbcommon.Keymap
 import xkbcommon.XkbContext
 import xkbcommon.XkbKey
-import java.util.*
 
 
-typealias Modifiers = EnumSet<KeyboardModifier>
+typealias Modifiers = ModifierMask
 
 
 class Keyboard(val compositor: Compositor, val wlrKeyboard: Keyboard) {
 
-    val listeners: MutableList<Listener> = mutableListOf()
+    val listeners = ListenerGroup()
     val repeatTimer = RepeatTimer()
     var repeatKey: Int? = null
 
@@ -68,6 +67,7 @@ class Keyboard(val compositor: Compositor, val wlrKeyboard: Keyboard) {
                     XkbKey.F9 -> compositor.windowSystem.focuser.getFocused()?.moveDiagonallyDown()
                     XkbKey.F11 -> compositor.windowSystem.focuser.getFocused()
                         ?.let { compositor.captureMode.transitionToMove(it, null, InitiatedWith.Keyboard) }
+                    XkbKey.F12 -> compositor.logDiagnostics()
 
                     XkbKey.Num0 -> Log.init(Log.Importance.Silent)
                     XkbKey.Num1 -> Log.init(Log.Importance.Error)
@@ -98,7 +98,7 @@ class Keyboard(val compositor: Compositor, val wlrKeyboard: Keyboard) {
     fun onKey(event: KeyEvent) {
         val keycode = event.keycode + 8
         val keysym = wlrKeyboard.xkbState.keyGetOneSym(keycode)
-        val modifiers = wlrKeyboard.keyboardModifiers
+        val modifiers = wlrKeyboard.modifierMask
 
         var propagateToClient = true
 
@@ -135,22 +135,18 @@ class Keyboard(val compositor: Compositor, val wlrKeyboard: Keyboard) {
 
 
     fun onDestroy(device: InputDevice) {
-        // Remove listeners on the wlroots side.
-        listeners.forEach { it.remove() }
-
-        // Remove Java wrappers for listeners.
-        listeners.clear()
-
-        // TODO: Memory management: Take care of Signals/Listeners
+        // Remove listeners on the wlroots side and free their memory.
+        listeners.close()
+        repeatTimer.cleanup()
 
         compositor.inputSystem.remove(this)
     }
 
 
-    inner class RepeatTimer : Timer(compositor.display.eventLoop) {
+    inner class RepeatTimer : Timer(compositor.timers) {
         override fun callback() {
             require(repeatKey != null)
-            tryCompositorShortcut(repeatKey!!, wlrKeyboard.keyboardModifiers, Pressed)
+            tryCompositorShortcut(repeatKey!!, wlrKeyboard.modifierMask, Pressed)
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package compositor.output
+
+import nylon.LongRingBuffer
+
+
+/**
+ * Frame timing statistics of one output, recorded from `Output.onOutputFrame`:
+ *
+ * - commit duration: time spent in `SceneOutput.commit()` (rendering and submitting the frame)
+ * - present interval: time between two consecutive frame events, while rendering
+ * - missed frames: refresh periods that passed without a frame event, judged from the present interval
+ *
+ * wlroots sends no frame events while an output is idle (nothing damaged), that gap is neither an interval nor
+ * missed frames. Intervals are only measured from a frame event whose commit rendered a frame, because only
+ * then is the next frame event due one refresh period later.
+ *
+ * Keeps the last [capacity] samples in ring buffers, recording doesn't allocate. Percentiles are computed
+ * only when a [Snapshot] is taken.
+ */
+class FrameTimings(val capacity: Int = 1024) {
+
+    private val commitNanos = LongRingBuffer(capacity)
+    private val intervalNanos = LongRingBuffer(capacity)
+    private var lastFrameStart = 0L
+
+    var frames = 0L
+        private set
+    var missedFrames = 0L
+        private set
+    var failedCommits = 0L
+        private set
+
+
+    /**
+     * Record the start of a frame event.
+     *
+     * @param refreshPeriodNanos Expected time between frames, 0 if unknown (then no missed frames are counted)
+     */
+    fun frameStarted(now: Long, refreshPeriodNanos: Long) {
+        if (lastFrameStart != 0L) {
+            val interval = now - lastFrameStart
+            intervalNanos.add(interval)
+
+            // Allow for jitter, a frame counts as missed only if it's late by more than half a period
+            if (refreshPeriodNanos > 0 && interval > refreshPeriodNanos * 3 / 2) {
+                missedFrames += (interval + refreshPeriodNanos / 2) / refreshPeriodNanos - 1
+            }
+        }
+        lastFrameStart = now
+        frames++
+    }
+
+
+    /**
+     * @param rendered Whether the commit presented a new frame. If not, the output goes idle until new damage,
+     *     and the next frame event starts a new series of intervals.
+     */
+    fun commitFinished(durationNanos: Long, success: Boolean, rendered: Boolean = true) {
+        commitNanos.add(durationNanos)
+        if (!success) failedCommits++
+        if (!success || !rendered) lastFrameStart = 0L
+    }
+
+
+    fun reset() {
+        commitNanos.clear()
+        intervalNanos.clear()
+        lastFrameStart = 0L
+        frames = 0L
+        missedFrames = 0L
+        failedCommits = 0L
+    }
+
+
+    fun snapshot(): Snapshot {
+        return Snapshot(
+            frames = frames,
+            missedFrames = missedFrames,
+            failedCommits = failedCommits,
+            commit = Percentiles.of(commitNanos.sorted()),
+            presentInterval = Percentiles.of(intervalNanos.sorted()),
+        )
+    }
+
+
+    data class Snapshot(
+        val frames: Long,
+        val missedFrames: Long,
+        val failedCommits: Long,
+        val commit: Percentiles,
+        val presentInterval: Percentiles,
+    ) {
+        override fun toString(): String {
+            return "frames=$frames missed=$missedFrames failedCommits=$failedCommits " +
+                "commit[$commit] presentInterval[$presentInterval]"
+        }
+    }
+
+
+    /** Percentiles of the recorded samples, in nanoseconds. */
+    data class Percentiles(val samples: Int, val p50: Long, val p90: Long, val p99: Long, val max: Long) {
+        companion object {
+            fun of(sorted: LongArray) = Percentiles(
+                samples = sorted.size,
+                p50 = LongRingBuffer.percentile(sorted, 50.0),
+                p90 = LongRingBuffer.percentile(sorted, 90.0),
+                p99 = LongRingBuffer.percentile(sorted, 99.0),
+                max = LongRingBuffer.percentile(sorted, 100.0),
+            )
+        }
+
+        override fun toString(): String {
+            fun ms(nanos: Long) = "%.2fms".format(nanos / 1_000_000.0)
+            return "n=$samples p50=${ms(p50)} p90=${ms(p90)} p99=${ms(p99)} max=${ms(max)}"
+        }
+    }
+}
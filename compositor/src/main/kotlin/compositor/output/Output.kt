@@ -2,18 +2,29 @@ package compositor.output
 
 import compositor.Compositor
 import wayland.server.Listener
+import wayland.server.ListenerGroup
 import wlroots.types.output.EventRequestState
 import wlroots.types.output.OutputState
 import wlroots.types.scene.SceneOutput
+import wlroots.util.FrameClock
+import java.lang.foreign.Arena
 import wlroots.types.output.Output as WlrOutput
 
 
 class Output(val compositor: Compositor, val wlrOutput: WlrOutput) {
 
+    val listeners = ListenerGroup()
     val frameListener: Listener
     val requestStateListener: Listener
     val destroyListener: Listener
     val outputs = compositor.outputSystem
+    val sceneOutput: SceneOutput
+
+    // Reused by every frame callback, freed on destroy
+    val arena: Arena = Arena.ofConfined()
+    val frameClock = FrameClock(arena)
+
+    val frameTimings = FrameTimings()
 
 
     init {
@@ -30,22 +41,29 @@ class Output(val compositor: Compositor, val wlrOutput: WlrOutput) {
 
         // Let the scene graph know that we have a new output attached
         val outputLayoutOutput = outputs.outputLayout.addAuto(wlrOutput)
-        val sceneOutput = SceneOutput.create(compositor.windowSystem.scene, wlrOutput)
+        sceneOutput = SceneOutput.create(compositor.windowSystem.scene, wlrOutput)
         outputs.sceneOutputLayout.addOutput(outputLayoutOutput, sceneOutput)
 
         with(wlrOutput.events) {
-            frameListener = frame.add(::onOutputFrame)
-            requestStateListener = requestState.add(::onOutputRequestState)
-            destroyListener = destroy.add(::onOutputDestroy)
+            frameListener = listeners.add(frame.add(::onOutputFrame))
+            requestStateListener = listeners.add(requestState.add(::onOutputRequestState))
+            destroyListener = listeners.add(destroy.add(::onOutputDestroy))
         }
     }
 
 
     fun onOutputFrame(output: WlrOutput) {
-        compositor.windowSystem.scene.getSceneOutput(output)!!.apply {
-            commit()
-            sendFrameDone()
-        }
+        val frameStart = System.nanoTime()
+        val refresh = output.refresh()
+        frameTimings.frameStarted(frameStart, if (refresh > 0) 1_000_000_000_000L / refresh else 0L)
+
+        val rendering = sceneOutput.needsFrame()
+        val committed = sceneOutput.commit()
+        val commitEnd = System.nanoTime()
+        frameTimings.commitFinished(commitEnd - frameStart, committed, rendering)
+        if (rendering && committed) outputs.onFrameCommitted?.invoke(this, commitEnd)
+
+        sceneOutput.sendFrameDone(frameClock.set(commitEnd))
     }
 
 
@@ -55,11 +73,8 @@ class Output(val compositor: Compositor, val wlrOutput: WlrOutput) {
 
 
     fun onOutputDestroy(output: WlrOutput) {
-        frameListener.remove()
-        requestStateListener.remove()
-        destroyListener.remove()
+        listeners.close()
         compositor.outputSystem.remove(this)
-
-        // TODO: Memory management: Close the arena used for listeners
+        arena.close()
     }
 }
\ No newline at end of file
@@ -12,6 +12,9 @@ class OutputSystem(val compositor: Compositor) {
     val outputLayout: OutputLayout
     val sceneOutputLayout: SceneOutputLayout
 
+    /** Called after a new frame was committed to an output, with the time the commit finished. For measurements. */
+    var onFrameCommitted: ((output: Output, commitEndNanos: Long) -> Unit)? = null
+
 
     init {
         outputLayout = OutputLayout.create(compositor.display)
@@ -25,6 +28,14 @@ class OutputSystem(val compositor: Compositor) {
     }
 
 
+    /** Frame timing statistics of all outputs, one line per output. */
+    fun dumpFrameTimings(): String {
+        return outputs.joinToString("\n") { output ->
+            "${output.wlrOutput.name()}: ${output.frameTimings.snapshot()}"
+        }
+    }
+
+
     fun remove(output: Output) {
         require(this@OutputSystem.outputs.contains(output))
         this@OutputSystem.outputs.remove(output)
@@ -2,7 +2,7 @@ package compositor.windows
 
 import compositor.unreachable
 import compositor.windows.WindowSystem.BaseWindow
-import wayland.server.Listener
+import wayland.server.ListenerGroup
 import wlroots.types.compositor.Surface
 import wlroots.types.scene.SceneTree
 import wlroots.types.xdg_shell.XdgPopup
@@ -11,7 +11,7 @@ import wlroots.types.xdg_shell.XdgPopup
 class Popup(val windows: WindowSystem, val parent: BaseWindow, val xdgPopup: XdgPopup) : BaseWindow {
 
     override val sceneTree: SceneTree
-    val listeners: MutableList<Listener>
+    val listeners = ListenerGroup()
     val childPopups: MutableList<Popup> = mutableListOf()
 
     // Debugging
@@ -21,7 +21,7 @@ class Popup(val windows: WindowSystem, val parent: BaseWindow, val xdgPopup: Xdg
     init {
         sceneTree = SceneTree.createFromParent(parent.sceneTree, xdgPopup.base)
 
-        listeners = mutableListOf(
+        listeners.addAll(
             xdgPopup.base.surface.events.commit.add(::onCommit),
             xdgPopup.events.destroy.add(::onDestroy)
         )
@@ -75,11 +75,9 @@ class Popup(val windows: WindowSystem, val parent: BaseWindow, val xdgPopup: Xdg
     }
 
     fun onDestroy() {
-        listeners.forEach { it.remove() }
+        listeners.close()
         parent.removeChild(this)
         windows.removePopup(this)
         isDestroyed = true
-
-        // TODO Free listeners arena here
     }
 }
\ No newline at end of file
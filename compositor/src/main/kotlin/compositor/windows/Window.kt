@@ -2,6 +2,7 @@ package compositor.windows
 
 import compositor.windows.WindowSystem.BaseWindow
 import wayland.server.Listener
+import wayland.server.ListenerGroup
 import wlroots.types.compositor.Surface
 import wlroots.types.scene.SceneTree
 import wlroots.types.xdg_shell.XdgSurfaceConfigure
@@ -18,7 +19,7 @@ import wlroots.types.xdg_shell.XdgToplevel
 class Window(val windows: WindowSystem, val xdgToplevel: XdgToplevel) : BaseWindow {
 
     override val sceneTree: SceneTree
-    val listeners: MutableList<Listener> = mutableListOf()
+    val listeners = ListenerGroup()
 
     // Children
     val childWindows: MutableList<Window> = mutableListOf()
@@ -30,19 +31,18 @@ class Window(val windows: WindowSystem, val xdgToplevel: XdgToplevel) : BaseWind
 
     init {
         sceneTree = windows.scene.xdgSurfaceCreate(xdgToplevel.base)
+        sceneTree.data = this
         with(xdgToplevel.base.surface.events) {
-            listeners.addAll([map.add(::onMap), unmap.add(::onUnmap), commit.add(::onCommit)])
+            listeners.addAll(map.add(::onMap), unmap.add(::onUnmap), commit.add(::onCommit))
         }
         with(xdgToplevel.events) {
             listeners.addAll(
-                [
-                    destroy.add(::onDestroy),
-                    requestMove.add(::onRequestMove),
-                    requestResize.add(::onRequestResize),
-                    requestMaximize.add(::onRequestMaximize),
-                    requestFullscreen.add(::onRequestFullscreen),
-                    ackConfigure.add(::onAckConfigure)
-                ]
+                destroy.add(::onDestroy),
+                requestMove.add(::onRequestMove),
+                requestResize.add(::onRequestResize),
+                requestMaximize.add(::onRequestMaximize),
+                requestFullscreen.add(::onRequestFullscreen),
+                ackConfigure.add(::onAckConfigure)
             )
         }
     }
@@ -127,8 +127,9 @@ class Window(val windows: WindowSystem, val xdgToplevel: XdgToplevel) : BaseWind
         require(childWindows.isEmpty())
         require(childPopups.isEmpty())
 
-        // Unregister listeners, ask the window system to remove this window
-        listeners.forEach { it.remove() }
+        // Unregister listeners and free their memory, ask the window system to remove this window
+        listeners.close()
+        sceneTree.data = null
         windows.removeWindow(this)
 
         // Used for debugging and much needed sanity checking
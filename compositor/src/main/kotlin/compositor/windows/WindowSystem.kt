@@ -2,6 +2,7 @@ package compositor.windows
 
 import compositor.Compositor
 import compositor.unreachable
+import nylon.LongMap
 import wayland.server.Listener
 import wlroots.types.compositor.Surface
 import wlroots.types.scene.Scene
@@ -10,6 +11,7 @@ import wlroots.types.scene.SceneNode
 import wlroots.types.scene.SceneSurface
 import wlroots.types.scene.SceneTree
 import wlroots.types.xdg_shell.*
+import java.lang.foreign.Arena
 
 
 class WindowSystem(val compositor: Compositor) {
@@ -25,7 +27,15 @@ class WindowSystem(val compositor: Compositor) {
     val windows: MutableList<Window> = mutableListOf()
     val popups: MutableList<Popup> = mutableListOf()
 
+    // Indices by native pointer address, maintained by add/remove functions below, so that finding the
+    // parent of a new popup doesn't scan the lists above
+    private val windowsByXdgSurface = LongMap<Window>()
+    private val popupsByXdgSurface = LongMap<Popup>()
+
     val focuser = Focuser(compositor)
+
+    // Reused by findWindowAtCoordinates, which runs on every cursor motion
+    private val nodeAtResult = SceneNode.NodeAtResult(Arena.global())
     var moveAndResize: MoveAndResize? = null
 
 
@@ -58,7 +68,7 @@ class WindowSystem(val compositor: Compositor) {
 
         val popup = Popup(this, parent, xdgPopup)
         parent.addChild(popup)
-        popups.add(popup)
+        addPopup(popup)
     }
 
 
@@ -70,34 +80,47 @@ class WindowSystem(val compositor: Compositor) {
 
 
     fun addWindow(window: Window) {
-        require(!windows.contains(window))
+        val xdgSurfaceAddress = window.xdgToplevel.base.xdgSurfacePtr.address()
+        require(!windowsByXdgSurface.containsKey(xdgSurfaceAddress))
+        windowsByXdgSurface.put(xdgSurfaceAddress, window)
         windows.add(window)
     }
 
 
     fun removeWindow(window: Window) {
         windows.remove(window)
+        windowsByXdgSurface.remove(window.xdgToplevel.base.xdgSurfacePtr.address())
         focuser.unfocusWindow(window)
     }
 
 
+    fun addPopup(popup: Popup) {
+        val xdgSurfaceAddress = popup.xdgPopup.base.xdgSurfacePtr.address()
+        require(!popupsByXdgSurface.containsKey(xdgSurfaceAddress))
+        popupsByXdgSurface.put(xdgSurfaceAddress, popup)
+        popups.add(popup)
+    }
+
+
     fun removePopup(popup: Popup) {
         val removed = this.popups.remove(popup)
         check(removed)
+        popupsByXdgSurface.remove(popup.xdgPopup.base.xdgSurfacePtr.address())
     }
 
     fun findWindowAtCoordinates(x: Double, y: Double): UnderCursor? {
         // First, find a scene node under the cursor, then walk its parents upwards until you reach a
-        // top level window.
-        val (node, nx, ny) = scene.nodeAt(x, y) ?: return null
+        // top level window. Window scene trees are tagged with their Window, so no lookups are needed.
+        if (!scene.nodeAt(x, y, nodeAtResult)) return null
+        val node = nodeAtResult.node
         if (node !is SceneBuffer) return null
 
         val buffer = node // SceneBuffer.fromNode(sceneNode)
         val surface = SceneSurface.tryFromBuffer(buffer) ?: return null
 
         for (sceneTree in node.parentIterator) {
-            findWindowBySceneTree(sceneTree)?.let { window ->
-                return UnderCursor(window, window.xdgToplevel, surface.surface, nx, ny)
+            (sceneTree.data as? Window)?.let { window ->
+                return UnderCursor(window, window.xdgToplevel, surface.surface, nodeAtResult.nx, nodeAtResult.ny)
             }
         }
 
@@ -105,23 +128,13 @@ class WindowSystem(val compositor: Compositor) {
     }
 
 
-    fun findWindowBySceneTree(sceneTree: SceneTree): Window?{
-        return windows.find {
-            it.sceneTree == sceneTree
-        }
-    }
-
-
     fun findWindowByXdgSurface(xdgSurface: XdgSurface): Window? {
-        return windows.find {
-            it.xdgToplevel.base == xdgSurface
-        }
+        return windowsByXdgSurface.get(xdgSurface.xdgSurfacePtr.address())
     }
 
+
     fun findPopupByXdgSurface(xdgSurface: XdgSurface): Popup? {
-        return popups.find { popup ->
-            popup.xdgPopup.base == xdgSurface
-        }
+        return popupsByXdgSurface.get(xdgSurface.xdgSurfacePtr.address())
     }
 
 
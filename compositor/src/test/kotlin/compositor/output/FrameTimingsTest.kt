@@ -0,0 +1,88 @@
+package compositor.output
+
+import io.kotest.core.spec.style.FunSpec
+import io.kotest.matchers.equals.shouldBeEqual
+
+
+class FrameTimingsTest : FunSpec({
+    val period = 16_666_667L
+
+    test("frames on time are not missed") {
+        val timings = FrameTimings()
+        for (i in 0 until 10) {
+            // Some jitter, less than half a period
+            timings.frameStarted(1_000_000_000L + i * period + (i % 3) * 2_000_000L, period)
+            timings.commitFinished(1_000_000, success = true, rendered = true)
+        }
+        val snapshot = timings.snapshot()
+        snapshot.frames shouldBeEqual 10
+        snapshot.missedFrames shouldBeEqual 0
+        snapshot.presentInterval.samples shouldBeEqual 9
+    }
+
+    test("missed frames are counted from a late frame event") {
+        val timings = FrameTimings()
+        timings.frameStarted(0 + 1, period)
+        timings.commitFinished(1_000_000, success = true, rendered = true)
+        // 3 periods later: 2 frames missed
+        timings.frameStarted(1 + 3 * period, period)
+        timings.commitFinished(1_000_000, success = true, rendered = true)
+        // 1.4 periods later: jitter, not missed
+        timings.frameStarted(1 + 3 * period + period * 14 / 10, period)
+
+        timings.missedFrames shouldBeEqual 2
+        timings.snapshot().presentInterval.max shouldBeEqual 3 * period
+    }
+
+    test("an idle output doesn't count missed frames nor intervals") {
+        val timings = FrameTimings()
+        timings.frameStarted(1, period)
+        timings.commitFinished(1_000_000, success = true, rendered = true)
+        timings.frameStarted(1 + period, period)
+        // Nothing damaged: the output goes idle
+        timings.commitFinished(100_000, success = true, rendered = false)
+
+        // Damage again after a second
+        timings.frameStarted(1 + period + 1_000_000_000L, period)
+        timings.commitFinished(1_000_000, success = true, rendered = true)
+        timings.frameStarted(1 + 2 * period + 1_000_000_000L, period)
+
+        timings.missedFrames shouldBeEqual 0
+        val interval = timings.snapshot().presentInterval
+        interval.samples shouldBeEqual 2
+        interval.max shouldBeEqual period
+    }
+
+    test("failed commits reset the interval too") {
+        val timings = FrameTimings()
+        timings.frameStarted(1, period)
+        timings.commitFinished(1_000_000, success = false)
+        timings.frameStarted(1 + 10 * period, period)
+
+        timings.failedCommits shouldBeEqual 1
+        timings.missedFrames shouldBeEqual 0
+    }
+
+    test("unknown refresh period counts no missed frames") {
+        val timings = FrameTimings()
+        timings.frameStarted(1, 0)
+        timings.commitFinished(1_000_000, success = true)
+        timings.frameStarted(1 + 100 * period, 0)
+        timings.missedFrames shouldBeEqual 0
+    }
+
+    test("the buffers keep the last samples only, reset clears everything") {
+        val timings = FrameTimings(capacity = 4)
+        for (i in 1..10) {
+            timings.frameStarted(i * period, period)
+            timings.commitFinished(i * 1_000L, success = true)
+        }
+        val commit = timings.snapshot().commit
+        commit.samples shouldBeEqual 4
+        commit.p50 shouldBeEqual 8_000L
+        commit.max shouldBeEqual 10_000L
+
+        timings.reset()
+        timings.snapshot() shouldBeEqual FrameTimings().snapshot()
+    }
+})
@@ -18,6 +18,19 @@ jextract --output $java_output      \
     --header-class-name "linux"     \
     "/usr/include/linux/input-event-codes.h"
 
+# libc: eventfd and fd I/O, for waking up the Wayland event loop from other threads
+jextract --output $java_output          \
+    --target-package jextract.libc      \
+    --header-class-name "libc"          \
+    --include-function eventfd          \
+    --include-function read             \
+    --include-function write            \
+    --include-function close            \
+    --include-constant EFD_CLOEXEC      \
+    --include-constant EFD_NONBLOCK     \
+    "/usr/include/sys/eventfd.h"        \
+    "/usr/include/unistd.h"
+
 # Linux kernel DRM
 jextract --library "drm" --output $java_output  \
     --target-package jextract.drm               \
@@ -63,10 +76,8 @@ jextract --library $lib --output $java_output \
     "$libDir/wlr/types/wlr_cursor.h"          \
     "$libDir/wlr/types/wlr_data_device.h"     \
     "$libDir/wlr/types/wlr_input_device.h"    \
-    "$libDir/wlr/types/wlr_keyboard.h"        \
     "$libDir/wlr/types/wlr_output.h"          \
     "$libDir/wlr/types/wlr_output_layout.h"   \
-    "$libDir/wlr/types/wlr_pointer.h"         \
     "$libDir/wlr/types/wlr_scene.h"           \
     "$libDir/wlr/types/wlr_seat.h"            \
     "$libDir/wlr/types/wlr_subcompositor.h"   \
@@ -76,9 +87,13 @@ jextract --library $lib --output $java_output \
     "$libDir/wlr/types/wlr_xdg_shell.h"       \
                                               \
     "$libDir/wlr/interfaces/wlr_buffer.h"     \
+    "$libDir/wlr/interfaces/wlr_keyboard.h"   \
+    "$libDir/wlr/interfaces/wlr_pointer.h"    \
                                               \
+    "$libDir/wlr/util/addon.h"                \
     "$libDir/wlr/util/log.h"                  \
     "$libDir/wlr/util/edges.h"                \
                                               \
     "$libDir/wlr/backend.h"                   \
+    "$libDir/wlr/backend/headless.h"          \
     "$libDir/wlr/version.h"
\ No newline at end of file
@@ -1,6 +1,7 @@
 module wlroots4j.jextracted.main {
     requires kotlin.stdlib;
     exports jextract.drm;
+    exports jextract.libc;
     exports jextract.linux;
     exports jextract.xkbcommon;
     exports jextract.wayland;
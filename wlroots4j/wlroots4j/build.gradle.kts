@@ -26,6 +26,18 @@ benchmark {
 		register("targeted") {
 			include("InputDeviceType")
 		}
+
+		register("allocations") {
+			include("SignalFlyweight")
+			include("NodeAt")
+			include("ListBenchmark")
+			advanced("jvmProfiler", "gc")
+		}
+
+		// All benchmarks, with allocation rates
+		register("suite") {
+			advanced("jvmProfiler", "gc")
+		}
 	}
 }
 
@@ -47,4 +59,10 @@ tasks {
         useJUnitPlatform()
         jvmArgs("-ea", "--enable-native-access=ALL-UNNAMED")
     }
+
+    // Benchmarks using native wlroots objects run on the headless backend with the software renderer, no GPU
+    // needed. The JMH forks inherit the environment.
+    withType<JavaExec>().matching { it.name.endsWith("Benchmark") }.configureEach {
+        environment("WLR_RENDERER", "pixman")
+    }
 }
\ No newline at end of file
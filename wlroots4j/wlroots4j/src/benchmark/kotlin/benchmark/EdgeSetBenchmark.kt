@@ -3,6 +3,7 @@ package benchmark
 import jextract.wlroots.wlr.*
 import kotlinx.benchmark.*
 import wayland.util.Edge
+import wayland.util.EdgeMask
 
 
 class EdgeSet(val value: Int) {
@@ -42,6 +43,13 @@ open class EdgeSetBenchmark {
     }
 
 
+    @Benchmark
+    fun edgeMaskTop(): Boolean {
+        val mask = EdgeMask(setTop)
+        return mask.contains(Edge.Top)
+    }
+
+
     @Benchmark
     fun bitSetTop(): Boolean {
         val set = EdgeSet(setTop)
@@ -57,6 +65,13 @@ open class EdgeSetBenchmark {
     }
 
 
+    @Benchmark
+    fun edgeMaskLeftRight(): Boolean {
+        val mask = EdgeMask(setLeftRight)
+        return mask.contains(Edge.Left) && mask.contains(Edge.Right)
+    }
+
+
     @Benchmark
     fun bitSetLeftRight(): Boolean {
         val set = EdgeSet(setLeftRight)
@@ -75,6 +90,7 @@ open class OnlyAccessBenchmark {
 
     val enumSet = Edge.fromBitset(WLR_EDGE_LEFT() or WLR_EDGE_RIGHT())
     val bitSet = EdgeSet(WLR_EDGE_LEFT() or WLR_EDGE_RIGHT())
+    val edgeMask = EdgeMask(WLR_EDGE_LEFT() or WLR_EDGE_RIGHT())
 
     @Benchmark
     fun benchmarkEnumSet(): Boolean {
@@ -91,4 +107,12 @@ open class OnlyAccessBenchmark {
         val bottom = bitSet.containsBottom()
         return left && right && !bottom
     }
+
+    @Benchmark
+    fun benchmarkEdgeMask(): Boolean {
+        val left = edgeMask.contains(Edge.Left)
+        val right = edgeMask.contains(Edge.Right)
+        val bottom = edgeMask.contains(Edge.Bottom)
+        return left && right && !bottom
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package benchmark
+
+import jextract.wlroots.wlr_keyboard_key_event
+import jextract.wlroots.wlr_pointer
+import jextract.wlroots.wlr_pointer_button_event
+import jextract.wlroots.wlr_pointer_motion_event
+import kotlinx.benchmark.*
+import wlroots.types.keyboard.KeyEvent
+import wlroots.types.output.Output
+import wlroots.types.pointer.PointerButtonEvent
+import wlroots.types.pointer.PointerMotionEvent
+import java.lang.foreign.Arena
+import java.lang.foreign.MemorySegment
+
+
+/**
+ * Constructing the Java wrappers of the event structs passed to signal listeners, which happens on every
+ * emission for listeners added with `Signal.add()`. The cost is mostly allocation, run with the `suite` or
+ * `allocations` configuration to see allocations/op.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 4, time = 1000, timeUnit = BenchmarkTimeUnit.MILLISECONDS)
+@Measurement(iterations = 4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(BenchmarkTimeUnit.MICROSECONDS)
+open class EventWrapperBenchmark {
+
+    val arena: Arena = Arena.ofShared()
+    lateinit var headless: Headless
+    lateinit var motionEventPtr: MemorySegment
+    lateinit var buttonEventPtr: MemorySegment
+    lateinit var keyEventPtr: MemorySegment
+
+
+    @Setup
+    fun setup() {
+        headless = Headless()
+
+        // Fake pointer device, zeroed memory is good enough for constructing the wrappers
+        val pointerPtr = wlr_pointer.allocate(arena)
+        motionEventPtr = wlr_pointer_motion_event.allocate(arena).also {
+            wlr_pointer_motion_event.pointer(it, pointerPtr)
+            wlr_pointer_motion_event.delta_x(it, 1.5)
+        }
+        buttonEventPtr = wlr_pointer_button_event.allocate(arena).also {
+            wlr_pointer_button_event.pointer(it, pointerPtr)
+            wlr_pointer_button_event.button(it, 0x110)
+        }
+        keyEventPtr = wlr_keyboard_key_event.allocate(arena).also {
+            wlr_keyboard_key_event.keycode(it, 30)
+        }
+    }
+
+
+    @TearDown
+    fun tearDown() {
+        headless.close()
+        arena.close()
+    }
+
+
+    @Benchmark
+    fun pointerMotion(): PointerMotionEvent = PointerMotionEvent(motionEventPtr)
+
+
+    @Benchmark
+    fun pointerButton(): PointerButtonEvent = PointerButtonEvent(buttonEventPtr)
+
+
+    @Benchmark
+    fun key(): KeyEvent = KeyEvent(keyEventPtr)
+
+
+    /** What `Output.Events.frame` listeners get, with the events struct wrapped as well. */
+    @Benchmark
+    fun output(): Output = Output(headless.output.outputPtr)
+}
@@ -0,0 +1,85 @@
+package benchmark
+
+import kotlinx.benchmark.*
+import wlroots.types.cursor.Cursor
+import wlroots.types.scene.Scene
+import wlroots.types.scene.SceneNode
+import wlroots.util.Box
+import java.lang.foreign.Arena
+
+
+/**
+ * Reading several fields of a native struct: one accessor call per field, against the snapshot methods
+ * reading adjacent fields in pairs ([Box.snapshot], [SceneNode.position]) or into one value ([Cursor.position]).
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 4, time = 1000, timeUnit = BenchmarkTimeUnit.MILLISECONDS)
+@Measurement(iterations = 4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(BenchmarkTimeUnit.MICROSECONDS)
+open class FieldReadBenchmark {
+
+    val arena: Arena = Arena.ofShared()
+    val box = Box.allocate(arena)
+    val scene = Scene.create()
+    lateinit var node: SceneNode
+    val cursor = Cursor.create()
+
+
+    @Setup
+    fun setup() {
+        box.x = 10
+        box.y = 20
+        box.width = 640
+        box.height = 480
+        node = scene.createSceneRect(100, 100, floatArrayOf(1.0f, 0.0f, 0.0f, 1.0f))
+        node.setPosition(10, 10)
+    }
+
+
+    @TearDown
+    fun tearDown() {
+        cursor.destroy()
+        scene.destroy()
+        arena.close()
+    }
+
+
+    @Benchmark
+    fun boxPerField(): Int {
+        return box.x + box.y + box.width + box.height
+    }
+
+
+    @Benchmark
+    fun boxSnapshot(): Int {
+        val snapshot = box.snapshot()
+        return snapshot.x + snapshot.y + snapshot.width + snapshot.height
+    }
+
+
+    @Benchmark
+    fun sceneNodePerField(): Int {
+        return node.x + node.y
+    }
+
+
+    @Benchmark
+    fun sceneNodePosition(): Int {
+        val position = node.position()
+        return position.x + position.y
+    }
+
+
+    @Benchmark
+    fun cursorPerField(): Double {
+        return cursor.x + cursor.y
+    }
+
+
+    @Benchmark
+    fun cursorPosition(): Double {
+        val position = cursor.position()
+        return position.x + position.y
+    }
+}
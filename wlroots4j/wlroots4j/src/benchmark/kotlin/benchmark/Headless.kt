@@ -0,0 +1,42 @@
+package benchmark
+
+import wayland.server.Display
+import wlroots.backend.Backend
+import wlroots.render.Allocator
+import wlroots.render.Renderer
+import wlroots.types.output.Output
+import wlroots.types.scene.Scene
+
+
+/**
+ * Real wlroots objects for benchmarks, on the headless backend: no GPU, seat or display server needed. The
+ * benchmark tasks run with `WLR_RENDERER=pixman` (see `build.gradle.kts`), so the renderer is software too.
+ *
+ * Create in `@Setup`, close in `@TearDown`.
+ */
+class Headless(outputWidth: Int = 1920, outputHeight: Int = 1080) : AutoCloseable {
+    val display: Display = Display.create()
+    val backend: Backend = Backend.createHeadless(display.eventLoop) ?: error("Failed to create headless backend")
+    val renderer: Renderer = Renderer.autocreate(backend) ?: error("Failed to create renderer")
+    val allocator: Allocator = Allocator.autocreate(backend, renderer) ?: error("Failed to create allocator")
+    val scene: Scene = Scene.create()
+    val output: Output
+
+
+    init {
+        renderer.initWlDisplay(display)
+        check(backend.start()) { "Failed to start headless backend" }
+        output = backend.headlessAddOutput(outputWidth, outputHeight)
+        check(output.initRender(allocator, renderer)) { "Failed to init output rendering" }
+    }
+
+
+    override fun close() {
+        scene.destroy()
+        display.destroyClients()
+        allocator.destroy()
+        renderer.destroy()
+        backend.destroy()
+        display.destroy()
+    }
+}
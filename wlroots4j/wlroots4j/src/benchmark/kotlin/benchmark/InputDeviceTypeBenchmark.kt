@@ -1,7 +1,8 @@
 package benchmark
 
-import jextract.wlroots.wlr.WLR_INPUT_DEVICE_KEYBOARD
-import jextract.wlroots.wlr.WLR_INPUT_DEVICE_SWITCH
+import drm.DrmFormat
+import jextract.drm.fourcc.DRM_FORMAT_ARGB8888
+import jextract.wlroots.wlr.*
 import kotlinx.benchmark.Benchmark
 import kotlinx.benchmark.BenchmarkMode
 import kotlinx.benchmark.BenchmarkTimeUnit
@@ -11,7 +12,40 @@ import kotlinx.benchmark.OutputTimeUnit
 import kotlinx.benchmark.Scope
 import kotlinx.benchmark.State
 import kotlinx.benchmark.Warmup
+import wayland.util.Edge
 import wlroots.types.input.InputDeviceType
+import wlroots.types.keyboard.KeyboardModifier
+import wlroots.types.scene.SceneNode
+import java.util.EnumSet
+
+
+/** The removed `InputDeviceType.ofIterate`, kept for comparison. */
+fun inputDeviceTypeIterate(value: Int): InputDeviceType {
+    for (e in InputDeviceType.entries)
+        if (e.value == value)
+            return e
+    throw RuntimeException("Invalid enum value from C code for wlr_input_device_type")
+}
+
+
+/** How `SceneNode.Type.of` used to work, reading the C constants on every call. */
+fun sceneNodeTypeOfIfChain(value: Int): SceneNode.Type {
+    if (value == WLR_SCENE_NODE_TREE()) return SceneNode.Type.Tree
+    if (value == WLR_SCENE_NODE_RECT()) return SceneNode.Type.Rect
+    if (value == WLR_SCENE_NODE_BUFFER()) return SceneNode.Type.Buffer
+    throw RuntimeException("Invalid enum value from C code for wlr_scene_node_type")
+}
+
+
+/** How `Edge.fromBitset` used to work, reading the C constants on every call. */
+fun edgesOfIfChain(bitset: Int): EnumSet<Edge> {
+    val edges = EnumSet.noneOf(Edge::class.java)
+    if (WLR_EDGE_TOP() and bitset != 0) edges.add(Edge.Top)
+    if (WLR_EDGE_BOTTOM() and bitset != 0) edges.add(Edge.Bottom)
+    if (WLR_EDGE_LEFT() and bitset != 0) edges.add(Edge.Left)
+    if (WLR_EDGE_RIGHT() and bitset != 0) edges.add(Edge.Right)
+    return edges
+}
 
 
 @State(Scope.Benchmark)
@@ -26,7 +60,7 @@ class InputDeviceTypeKeyboardBenchmark {
 
     @Benchmark
     fun lookupIterateOverValues(): InputDeviceType {
-        return InputDeviceType.ofIterate(keyboardDeviceType)
+        return inputDeviceTypeIterate(keyboardDeviceType)
     }
 
 
@@ -49,7 +83,7 @@ class InputDeviceTypeSwitchBenchmark {
 
     @Benchmark
     fun lookupIterateOverValues(): InputDeviceType {
-        return InputDeviceType.ofIterate(switchDeviceType)
+        return inputDeviceTypeIterate(switchDeviceType)
     }
 
 
@@ -57,4 +91,55 @@ class InputDeviceTypeSwitchBenchmark {
     fun lookupDirectlyInArray(): InputDeviceType {
         return InputDeviceType.of(switchDeviceType)
     }
-}
\ No newline at end of file
+}
+
+
+/** Other [nylon.EnumTable] lookups, with the if-chains of C constants they replaced as the baseline, and bitsets. */
+@State(Scope.Benchmark)
+@Warmup(iterations = 4, time = 1000, timeUnit = BenchmarkTimeUnit.MILLISECONDS)
+@Measurement(iterations = 4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(BenchmarkTimeUnit.MICROSECONDS)
+class InputDeviceTypeEnumTableBenchmark {
+
+    val bufferNodeType = WLR_SCENE_NODE_BUFFER()
+    val argb8888 = DRM_FORMAT_ARGB8888()
+    val edges = WLR_EDGE_TOP() or WLR_EDGE_LEFT()
+    val modifiers = WLR_MODIFIER_CTRL() or WLR_MODIFIER_SHIFT()
+
+
+    @Benchmark
+    fun sceneNodeTypeIfChain(): SceneNode.Type {
+        return sceneNodeTypeOfIfChain(bufferNodeType)
+    }
+
+
+    @Benchmark
+    fun sceneNodeTypeTable(): SceneNode.Type {
+        return SceneNode.Type.of(bufferNodeType)
+    }
+
+
+    @Benchmark
+    fun drmFormatTable(): DrmFormat {
+        return DrmFormat.of(argb8888)
+    }
+
+
+    @Benchmark
+    fun edgesIfChain(): EnumSet<Edge> {
+        return edgesOfIfChain(edges)
+    }
+
+
+    @Benchmark
+    fun edgesTable(): EnumSet<Edge> {
+        return Edge.fromBitset(edges)
+    }
+
+
+    @Benchmark
+    fun keyboardModifiersTable(): EnumSet<KeyboardModifier> {
+        return KeyboardModifier.fromBitset(modifiers)
+    }
+}
@@ -9,14 +9,15 @@ import kotlinx.benchmark.OutputTimeUnit
 import kotlinx.benchmark.Scope
 import kotlinx.benchmark.State
 import kotlinx.benchmark.Warmup
-import wlroots.types.keyboard.Keyboard
 import wlroots.types.keyboard.KeyboardModifier
 import wlroots.types.keyboard.KeyboardModifier.*
+import wlroots.types.keyboard.ModifierMask
 import java.util.EnumSet
 
 
 val bitset = WLR_MODIFIER_CTRL() or WLR_MODIFIER_ALT() or WLR_MODIFIER_SHIFT()
-val modifiersBitSet = Keyboard.Modifiers(bitset)
+val modifiersBitSet = ModifierMask(bitset)
+val controlAltShift = ModifierMask.of(Control, Alt, Shift)
 val modifiersEnumSet = KeyboardModifier.fromBitset(bitset)
 
 
@@ -28,16 +29,26 @@ class KeyboardModifierBenchmark_BitSet {
 
     @Benchmark
     fun individualLookup(): Boolean {
-        val ctrl = modifiersBitSet.containsCtrl()
-        val alt = modifiersBitSet.containsAlt()
-        val shift = modifiersBitSet.containsShift()
+        val ctrl = modifiersBitSet.contains(Control)
+        val alt = modifiersBitSet.contains(Alt)
+        val shift = modifiersBitSet.contains(Shift)
         return ctrl && alt && shift
     }
 
 
     @Benchmark
     fun combinedLookup(): Boolean {
-        return modifiersBitSet.containsCtrlAltShift()
+        return modifiersBitSet.containsAll(controlAltShift)
+    }
+
+
+    @Benchmark
+    fun parse_individualLookup(): Boolean {
+        val modifiers = ModifierMask(bitset)
+        val ctrl = modifiers.contains(Control)
+        val shift = modifiers.contains(Shift)
+        val alt = modifiers.contains(Alt)
+        return ctrl && alt && shift
     }
 }
 
@@ -0,0 +1,167 @@
+package benchmark
+
+import jextract.wayland.wl.wl_list_empty
+import jextract.wayland.wl.wl_list_insert
+import jextract.wayland.wl.wl_list_length
+import jextract.wayland.wl.wl_list_remove
+import kotlinx.benchmark.*
+import wayland.server.Listener
+import wayland.util.List
+import wayland.util.ListOps
+import wayland.util.Utils.containerOf
+import java.lang.foreign.Arena
+import java.lang.foreign.MemorySegment
+
+
+/**
+ * `wayland.util.List` operations on a signal's listener list with [length] elements: appending, traversal
+ * (iterators creating wrappers, the allocation-free cursor), and getting the elements as wrappers. The
+ * `reflective*` variants are how `List` used to construct element wrappers and append, for comparison.
+ *
+ * The `native*`/`java*` pairs compare the libwayland list primitives with their [ListOps] versions.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 4, time = 1000, timeUnit = BenchmarkTimeUnit.MILLISECONDS)
+@Measurement(iterations = 4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(BenchmarkTimeUnit.MICROSECONDS)
+open class ListBenchmark {
+
+    @Param("1", "16", "256")
+    var length = 0
+
+    val arena: Arena = Arena.ofShared()
+    val signal = allocateSignal(arena)
+    val list: List<Listener> = signal.listenerList
+    lateinit var extraListener: Listener
+    val cursor = list.cursor()
+    var counter = 0
+
+
+    @Setup
+    fun setup() {
+        repeat(length) {
+            list.append(Listener.allocate(arena) { _, _ -> counter++ })
+        }
+        extraListener = Listener.allocate(arena) { _, _ -> counter++ }
+    }
+
+
+    @TearDown
+    fun tearDown() {
+        arena.close()
+    }
+
+
+    @Benchmark
+    fun appendRemove() {
+        list.append(extraListener)
+        list.remove(extraListener)
+    }
+
+
+    @Benchmark
+    fun nativeLength(): Int {
+        return wl_list_length(list.listPtr)
+    }
+
+
+    @Benchmark
+    fun javaLength(): Int {
+        return ListOps.length(list.listPtr.address())
+    }
+
+
+    @Benchmark
+    fun nativeEmpty(): Int {
+        return wl_list_empty(list.listPtr)
+    }
+
+
+    @Benchmark
+    fun javaEmpty(): Boolean {
+        return ListOps.empty(list.listPtr.address())
+    }
+
+
+    @Benchmark
+    fun nativeInsertRemove() {
+        wl_list_insert(list.listPtr, extraListener.linkMemberPtr)
+        wl_list_remove(extraListener.linkMemberPtr)
+    }
+
+
+    @Benchmark
+    fun javaInsertRemove() {
+        val link = extraListener.linkMemberPtr.address()
+        ListOps.insert(list.listPtr.address(), link)
+        ListOps.remove(link)
+    }
+
+
+    @Benchmark
+    fun walkLinks(): Int {
+        var count = 0
+        var linkPtr: MemorySegment = list.next()
+        while (linkPtr != list.listPtr) {
+            count++
+            linkPtr = jextract.wayland.wl_list.next(linkPtr)
+        }
+        return count
+    }
+
+
+    @Benchmark
+    fun iterate(): Int {
+        var count = 0
+        for (listener in list) count++
+        return count
+    }
+
+
+    @Benchmark
+    fun iterateSafe(): Int {
+        var count = 0
+        for (listener in list.safe()) count++
+        return count
+    }
+
+
+    @Benchmark
+    fun iterateCursor(): Long {
+        var sum = 0L
+        cursor.reset()
+        while (cursor.next()) sum += cursor.elementAddress()
+        return sum
+    }
+
+
+    @Benchmark
+    fun firstAndLast(): Listener? {
+        list.getFirst()
+        return list.getLast()
+    }
+
+
+    @Benchmark
+    fun reflectiveFirst(): Listener {
+        val meta = list.meta
+        val firstPtr = containerOf(list.next(), meta.layout, meta.linkMemberName)
+        return meta.elementClass.getConstructor(MemorySegment::class.java).newInstance(firstPtr)
+    }
+
+
+    @Benchmark
+    fun reflectiveAppendRemove() {
+        // Constructed the last element (reflectively) just to get its link pointer
+        val meta = list.meta
+        if (list.prev() != list.listPtr) {
+            val lastPtr = containerOf(list.prev(), meta.layout, meta.linkMemberName)
+            val last = meta.elementClass.getConstructor(MemorySegment::class.java).newInstance(lastPtr)
+            wl_list_insert(last.linkMemberPtr, extraListener.linkMemberPtr)
+        } else {
+            wl_list_insert(list.listPtr, extraListener.linkMemberPtr)
+        }
+        wl_list_remove(extraListener.linkMemberPtr)
+    }
+}
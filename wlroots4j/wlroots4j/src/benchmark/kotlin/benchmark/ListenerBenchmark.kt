@@ -0,0 +1,100 @@
+package benchmark
+
+import jextract.wayland.wl.wl_signal_emit_mutable
+import jextract.wayland.wl_signal
+import kotlinx.benchmark.*
+import wayland.server.Listener
+import wayland.server.Signal
+import java.lang.foreign.Arena
+import java.lang.foreign.MemorySegment.NULL
+
+
+fun allocateSignal(arena: Arena): Signal.Signal0 {
+    val signal = Signal.of(wl_signal.allocate(arena))
+    signal.listenerList.init()
+    return signal
+}
+
+
+/**
+ * Compares listeners with their own upcall stub each (`Listener.allocate(Arena, wl_notify_func_t.Function)`)
+ * against listeners sharing one upcall stub and dispatching through a lookup table (`Signal.add()`).
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 4, time = 1000, timeUnit = BenchmarkTimeUnit.MILLISECONDS)
+@Measurement(iterations = 4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(BenchmarkTimeUnit.MICROSECONDS)
+open class ListenerAddRemoveBenchmark {
+
+    val signal = allocateSignal(Arena.global())
+    var counter = 0
+
+
+    @Benchmark
+    fun perListenerStub() {
+        Arena.ofConfined().use { arena ->
+            val listener = Listener.allocate(arena) { _, _ -> counter++ }
+            signal.listenerList.append(listener)
+            listener.remove()
+        }
+    }
+
+
+    @Benchmark
+    fun sharedStub() {
+        val listener = signal.add(Runnable { counter++ })
+        listener.remove()
+    }
+}
+
+
+/**
+ * Emitting a signal with [listenerCount] listeners attached.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 4, time = 1000, timeUnit = BenchmarkTimeUnit.MILLISECONDS)
+@Measurement(iterations = 4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(BenchmarkTimeUnit.MICROSECONDS)
+open class ListenerEmitBenchmark {
+
+    @Param("1", "10")
+    var listenerCount = 0
+
+    val arena: Arena = Arena.ofShared()
+    val perListenerStubSignal = allocateSignal(arena)
+    val sharedStubSignal = allocateSignal(arena)
+    val sharedStubListeners = mutableListOf<Listener>()
+    var counter = 0
+
+
+    @Setup
+    fun setup() {
+        repeat(listenerCount) {
+            perListenerStubSignal.listenerList.append(Listener.allocate(arena) { _, _ -> counter++ })
+            sharedStubListeners.add(sharedStubSignal.add(Runnable { counter++ }))
+        }
+    }
+
+
+    @TearDown
+    fun tearDown() {
+        sharedStubListeners.forEach { it.remove() }
+        arena.close()
+    }
+
+
+    @Benchmark
+    fun perListenerStub(): Int {
+        wl_signal_emit_mutable(perListenerStubSignal.signalPtr, NULL)
+        return counter
+    }
+
+
+    @Benchmark
+    fun sharedStub(): Int {
+        wl_signal_emit_mutable(sharedStubSignal.signalPtr, NULL)
+        return counter
+    }
+}
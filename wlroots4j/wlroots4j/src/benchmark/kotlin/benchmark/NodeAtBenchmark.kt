@@ -0,0 +1,55 @@
+package benchmark
+
+import kotlinx.benchmark.*
+import wlroots.types.scene.Scene
+import wlroots.types.scene.SceneNode
+import java.lang.foreign.Arena
+
+
+/**
+ * Hit testing with `SceneNode.nodeAt`: the allocating variant (confined Arena, Tuple3 per call) against the
+ * one writing into a reused [SceneNode.NodeAtResult]. Run with the `allocations` configuration to see
+ * allocations/op, the reusing variant should be at zero.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 4, time = 1000, timeUnit = BenchmarkTimeUnit.MILLISECONDS)
+@Measurement(iterations = 4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(BenchmarkTimeUnit.MICROSECONDS)
+open class NodeAtBenchmark {
+
+    val arena: Arena = Arena.ofShared()
+    val scene = Scene.create()
+    val result = SceneNode.NodeAtResult(arena)
+    var sum = 0.0
+
+
+    @Setup
+    fun setup() {
+        scene.createSceneRect(100, 100, floatArrayOf(1.0f, 0.0f, 0.0f, 1.0f)).setPosition(10, 10)
+    }
+
+
+    @TearDown
+    fun tearDown() {
+        scene.destroy()
+        arena.close()
+    }
+
+
+    @Benchmark
+    fun allocating(): Double {
+        val (_, nx, ny) = scene.nodeAt(50.0, 50.0) ?: return sum
+        sum += nx + ny
+        return sum
+    }
+
+
+    @Benchmark
+    fun reusedResult(): Double {
+        if (scene.nodeAt(50.0, 50.0, result)) {
+            sum += result.nx + result.ny
+        }
+        return sum
+    }
+}
@@ -1,7 +1,17 @@
 package benchmark
 
 
+import jextract.wlroots.wlr.wlr_addon_set_finish
+import jextract.wlroots.wlr.wlr_addon_set_init
+import jextract.wlroots.wlr.wlr_scene_rect_from_node
+import jextract.wlroots.wlr_surface
 import kotlinx.benchmark.*
+import wlroots.types.compositor.Surface
+import wlroots.types.scene.Scene
+import wlroots.types.scene.SceneNode
+import wlroots.types.scene.SceneRect
+import java.lang.foreign.Arena
+import java.lang.foreign.MemorySegment
 
 
 @State(Scope.Benchmark)
@@ -37,4 +47,52 @@ open class ObjectCacheBenchmark {
         val dc = dummyStore.get(500000)!!
         return dc
     }
-}
\ No newline at end of file
+
+
+    // Wrappers of native objects: a new wrapper per call vs the address -> wrapper identity cache
+
+    val arena: Arena = Arena.ofShared()
+    val scene = Scene.create()
+    val sceneRect = scene.createSceneRect(10, 10, floatArrayOf(1.0f, 0.0f, 0.0f, 1.0f))
+    lateinit var surfacePtr: MemorySegment
+
+
+    @Setup
+    fun setup() {
+        // Fake surface, only the addon set has to be valid for the cache
+        surfacePtr = wlr_surface.allocate(arena)
+        wlr_addon_set_init(wlr_surface.addons(surfacePtr))
+    }
+
+
+    @TearDown
+    fun tearDown() {
+        wlr_addon_set_finish(wlr_surface.addons(surfacePtr))
+        scene.destroy()
+        arena.close()
+    }
+
+
+    @Benchmark
+    fun surfaceAllocate(): Surface {
+        return Surface(surfacePtr)
+    }
+
+
+    @Benchmark
+    fun surfaceCached(): Surface {
+        return Surface.ofPtr(surfacePtr)
+    }
+
+
+    @Benchmark
+    fun sceneNodeAllocate(): SceneNode {
+        return SceneRect(wlr_scene_rect_from_node(sceneRect.sceneNodePtr))
+    }
+
+
+    @Benchmark
+    fun sceneNodeCached(): SceneNode {
+        return SceneNode.ofPtr(sceneRect.sceneNodePtr)
+    }
+}
@@ -0,0 +1,59 @@
+package benchmark
+
+import kotlinx.benchmark.*
+import nylon.ScratchAllocator
+import java.lang.foreign.Arena
+import java.lang.foreign.ValueLayout
+
+
+/**
+ * Memory for out-parameters and C strings of a single native call: a confined Arena per call (the old
+ * pattern in the bindings) against the per-thread [ScratchAllocator].
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 4, time = 1000, timeUnit = BenchmarkTimeUnit.MILLISECONDS)
+@Measurement(iterations = 4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(BenchmarkTimeUnit.MICROSECONDS)
+open class ScratchAllocatorBenchmark {
+
+    var counter = 0
+
+
+    @Benchmark
+    fun confinedArenaOutParams(): Int {
+        Arena.ofConfined().use { arena ->
+            val lx = arena.allocate(ValueLayout.JAVA_INT)
+            val ly = arena.allocate(ValueLayout.JAVA_INT)
+            lx.set(ValueLayout.JAVA_INT, 0, counter++)
+            return lx.get(ValueLayout.JAVA_INT, 0) + ly.get(ValueLayout.JAVA_INT, 0)
+        }
+    }
+
+
+    @Benchmark
+    fun scratchOutParams(): Int {
+        ScratchAllocator.acquire().use { scratch ->
+            val lx = scratch.allocate(ValueLayout.JAVA_INT)
+            val ly = scratch.allocate(ValueLayout.JAVA_INT)
+            lx.set(ValueLayout.JAVA_INT, 0, counter++)
+            return lx.get(ValueLayout.JAVA_INT, 0) + ly.get(ValueLayout.JAVA_INT, 0)
+        }
+    }
+
+
+    @Benchmark
+    fun confinedArenaString(): Long {
+        Arena.ofConfined().use { arena ->
+            return arena.allocateFrom("left_ptr").byteSize()
+        }
+    }
+
+
+    @Benchmark
+    fun scratchString(): Long {
+        ScratchAllocator.acquire().use { scratch ->
+            return scratch.allocateFrom("left_ptr").byteSize()
+        }
+    }
+}
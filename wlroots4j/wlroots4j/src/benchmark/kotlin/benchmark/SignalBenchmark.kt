@@ -0,0 +1,60 @@
+package benchmark
+
+import jextract.wayland.wl.wl_signal_emit_mutable
+import kotlinx.benchmark.*
+import wayland.server.Listener
+import wlroots.types.output.Output
+
+
+/**
+ * A real signal, `frame` of a headless output: adding and removing a listener, and emitting to
+ * [listenerCount] listeners (each emission wraps the output for every listener).
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 4, time = 1000, timeUnit = BenchmarkTimeUnit.MILLISECONDS)
+@Measurement(iterations = 4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(BenchmarkTimeUnit.MICROSECONDS)
+open class SignalBenchmark {
+
+    @Param("1", "10")
+    var listenerCount = 0
+
+    lateinit var headless: Headless
+    val listeners = mutableListOf<Listener>()
+    var counter = 0L
+
+
+    @Setup
+    fun setup() {
+        headless = Headless()
+        repeat(listenerCount) {
+            listeners.add(headless.output.events.frame.add(::onFrame))
+        }
+    }
+
+
+    @TearDown
+    fun tearDown() {
+        listeners.forEach { it.remove() }
+        headless.close()
+    }
+
+
+    fun onFrame(output: Output) {
+        counter += output.outputPtr.address()
+    }
+
+
+    @Benchmark
+    fun addRemove() {
+        headless.output.events.frame.add(::onFrame).remove()
+    }
+
+
+    @Benchmark
+    fun emit(): Long {
+        wl_signal_emit_mutable(headless.output.events.frame.signalPtr, headless.output.outputPtr)
+        return counter
+    }
+}
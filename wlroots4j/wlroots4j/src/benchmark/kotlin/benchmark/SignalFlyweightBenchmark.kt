@@ -0,0 +1,77 @@
+package benchmark
+
+import jextract.wayland.wl.wl_signal_emit_mutable
+import jextract.wlroots.wlr_pointer
+import jextract.wlroots.wlr_pointer_motion_event
+import kotlinx.benchmark.*
+import wayland.server.Listener
+import wlroots.types.cursor.Cursor
+import wlroots.types.pointer.PointerMotionEvent
+import java.lang.foreign.Arena
+import java.lang.foreign.MemorySegment
+
+
+/**
+ * Dispatch of `Cursor.Events.motion`, with a new [PointerMotionEvent] per emission and with one reused
+ * [PointerMotionEvent.View]. Run with the `allocations` configuration to see allocations/op.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 4, time = 1000, timeUnit = BenchmarkTimeUnit.MILLISECONDS)
+@Measurement(iterations = 4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(BenchmarkTimeUnit.MICROSECONDS)
+open class SignalFlyweightBenchmark {
+
+    val arena: Arena = Arena.ofShared()
+    val cursor = Cursor.create()
+    lateinit var eventPtr: MemorySegment
+    lateinit var listener: Listener
+    var sum = 0.0
+
+    @Param("allocating", "flyweight")
+    var mode = ""
+
+
+    @Setup
+    fun setup() {
+        // Fake pointer device, zeroed memory is good enough for constructing the wrapper
+        val pointerPtr = wlr_pointer.allocate(arena)
+        eventPtr = wlr_pointer_motion_event.allocate(arena).also {
+            wlr_pointer_motion_event.pointer(it, pointerPtr)
+            wlr_pointer_motion_event.delta_x(it, 1.5)
+            wlr_pointer_motion_event.delta_y(it, -0.5)
+            wlr_pointer_motion_event.time_msec(it, 1000)
+        }
+
+        listener = when (mode) {
+            "allocating" -> cursor.events.motion.add(::onMotion)
+            "flyweight" -> cursor.events.motion.addFlyweight(PointerMotionEvent::View, ::onMotionView)
+            else -> error("Unknown mode: $mode")
+        }
+    }
+
+
+    @TearDown
+    fun tearDown() {
+        listener.remove()
+        cursor.destroy()
+        arena.close()
+    }
+
+
+    fun onMotion(event: PointerMotionEvent) {
+        sum += event.deltaX + event.deltaY + event.pointer.pointerPtr.address()
+    }
+
+
+    fun onMotionView(event: PointerMotionEvent.View) {
+        sum += event.deltaX + event.deltaY + event.pointer.pointerPtr.address()
+    }
+
+
+    @Benchmark
+    fun motion(): Double {
+        wl_signal_emit_mutable(cursor.events.motion.signalPtr, eventPtr)
+        return sum
+    }
+}
@@ -0,0 +1,73 @@
+package benchmark
+
+import kotlinx.benchmark.*
+import nylon.TimerWheel
+import java.util.PriorityQueue
+
+
+/**
+ * Scheduling and cancelling 10k timers: the [TimerWheel] behind `EventLoopTimers`, against a binary heap
+ * ordered by deadline, the usual alternative (cancelling is a linear search there).
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 4, time = 1000, timeUnit = BenchmarkTimeUnit.MILLISECONDS)
+@Measurement(iterations = 4)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(BenchmarkTimeUnit.MICROSECONDS)
+open class TimerWheelBenchmark {
+
+    class HeapTimeout(val deadline: Long, val task: Runnable)
+
+    val count = 10_000
+    val task = Runnable { fired++ }
+    var fired = 0
+
+    // Mix of short (key repeat, animations) and long (idle timeouts) delays
+    lateinit var delays: LongArray
+
+
+    @Setup
+    fun setup() {
+        val random = java.util.Random(42)
+        delays = LongArray(count) { if (it % 4 == 0) 1000L + random.nextInt(600_000) else 1L + random.nextInt(500) }
+    }
+
+
+    @Benchmark
+    fun wheelScheduleCancel(): Int {
+        val wheel = TimerWheel(0)
+        val timeouts = Array(count) { wheel.schedule(delays[it], task) }
+        for (timeout in timeouts) timeout.cancel()
+        return wheel.size()
+    }
+
+
+    @Benchmark
+    fun heapScheduleCancel(): Int {
+        val heap = PriorityQueue<HeapTimeout>(compareBy { it.deadline })
+        val timeouts = Array(count) { HeapTimeout(delays[it], task).also(heap::add) }
+        for (timeout in timeouts) heap.remove(timeout)
+        return heap.size
+    }
+
+
+    @Benchmark
+    fun wheelScheduleFire(): Int {
+        val wheel = TimerWheel(0)
+        for (delay in delays) wheel.schedule(delay, task)
+        return wheel.advance(1_000_000)
+    }
+
+
+    @Benchmark
+    fun heapScheduleFire(): Int {
+        val heap = PriorityQueue<HeapTimeout>(compareBy { it.deadline })
+        for (delay in delays) heap.add(HeapTimeout(delay, task))
+        var ran = 0
+        while (heap.isNotEmpty()) {
+            heap.poll().task.run()
+            ran++
+        }
+        return ran
+    }
+}
@@ -0,0 +1,98 @@
+package benchmark
+
+import jextract.wlroots.wlr.wlr_scene_tree_create
+import kotlinx.benchmark.*
+import nylon.LongMap
+import wlroots.types.scene.Scene
+import wlroots.types.scene.SceneTree
+
+
+/**
+ * Simulates the compositor's `WindowSystem.findWindowAtCoordinates` on cursor motion: find the node under the
+ * cursor, then walk its parents until one of them is the scene tree of a window. Compares scanning the window
+ * list at every level, a lookup in an index keyed by scene tree address, and reading the window from the
+ * node's `data` field.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 4, time = 1000, timeUnit = BenchmarkTimeUnit.MILLISECONDS)
+@Measurement(iterations = 4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(BenchmarkTimeUnit.MICROSECONDS)
+open class WindowLookupBenchmark {
+
+    /** Stand-in for the compositor's `Window`: equality by scene tree, like `Window` by its toplevel. */
+    class FakeWindow(val sceneTree: SceneTree) {
+        override fun equals(other: Any?) = other is FakeWindow && sceneTree == other.sceneTree
+        override fun hashCode() = sceneTree.hashCode()
+    }
+
+    @Param("1", "10", "50")
+    var windowCount = 0
+
+    val scene = Scene.create()
+    val windows = mutableListOf<FakeWindow>()
+    val windowsBySceneTree = LongMap<FakeWindow>()
+    var step = 0
+
+
+    @Setup
+    fun setup() {
+        // Cascade of windows, each a tree with a nested content tree and a rect, like xdg surface trees
+        repeat(windowCount) { i ->
+            val windowTree = SceneTree.ofPtr(wlr_scene_tree_create(scene.sceneTreePtr))
+            val contentTree = SceneTree.ofPtr(wlr_scene_tree_create(windowTree.sceneTreePtr))
+            contentTree.createSceneRect(200, 200, floatArrayOf(0.5f, 0.5f, 0.5f, 1.0f))
+            windowTree.setPosition(i * 10, i * 10)
+
+            val window = FakeWindow(windowTree)
+            windows.add(window)
+            windowsBySceneTree.put(windowTree.sceneNodePtr.address(), window)
+            windowTree.data = window
+        }
+    }
+
+
+    @TearDown
+    fun tearDown() {
+        scene.destroy()
+    }
+
+
+    private fun nextX(): Double {
+        step = (step + 1) % 100
+        return 5.0 + step
+    }
+
+
+    @Benchmark
+    fun linearScan(): FakeWindow? {
+        val x = nextX()
+        val (node, _, _) = scene.nodeAt(x, x) ?: return null
+        for (sceneTree in node.parentIterator) {
+            windows.find { it.sceneTree == sceneTree }?.let { return it }
+        }
+        return null
+    }
+
+
+    @Benchmark
+    fun addressIndex(): FakeWindow? {
+        val x = nextX()
+        val (node, _, _) = scene.nodeAt(x, x) ?: return null
+        for (sceneTree in node.parentIterator) {
+            windowsBySceneTree.get(sceneTree.sceneNodePtr.address())?.let { return it }
+        }
+        return null
+    }
+
+
+    @Benchmark
+    fun nodeData(): FakeWindow? {
+        val x = nextX()
+        val (node, _, _) = scene.nodeAt(x, x) ?: return null
+        for (sceneTree in node.parentIterator) {
+            (sceneTree.data as? FakeWindow)?.let { return it }
+        }
+        return null
+    }
+}
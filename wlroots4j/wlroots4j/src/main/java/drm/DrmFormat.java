@@ -1,24 +1,32 @@
 package drm;
 
+import nylon.EnumTable;
+import nylon.NativeEnum;
+
 import static jextract.drm.fourcc.*;
 
 
 /// FourCC code
-public enum DrmFormat {
+public enum DrmFormat implements NativeEnum {
     ARGB8888(DRM_FORMAT_ARGB8888());
 
     public final int value;
 
+    private static final EnumTable<DrmFormat> table = EnumTable.of(DrmFormat.class, "DRM_FORMAT_####");
+
 
     DrmFormat(int value) {
         this.value = value;
     }
 
 
+    @Override
+    public int value() {
+        return value;
+    }
+
+
     public static DrmFormat of(int value) {
-        for (var e : values())
-            if (e.value == value)
-                return e;
-        throw new RuntimeException("Invalid enum value from C code for DRM_FORMAT_####");
+        return table.of(value);
     }
 }
\ No newline at end of file
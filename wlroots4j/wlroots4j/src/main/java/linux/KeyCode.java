@@ -0,0 +1,18 @@
+package linux;
+
+import static jextract.linux.linux.*;
+
+
+/// Linux input event codes of keys, as in `wlr_keyboard_key_event.keycode` (XKB keycodes are these + 8).
+public class KeyCode {
+    public static final int Escape = KEY_ESC();
+    public static final int Enter = KEY_ENTER();
+    public static final int Space = KEY_SPACE();
+    public static final int Tab = KEY_TAB();
+    public static final int LeftAlt = KEY_LEFTALT();
+    public static final int LeftCtrl = KEY_LEFTCTRL();
+    public static final int LeftShift = KEY_LEFTSHIFT();
+    public static final int LeftMeta = KEY_LEFTMETA();
+    public static final int A = KEY_A();
+    public static final int F12 = KEY_F12();
+}
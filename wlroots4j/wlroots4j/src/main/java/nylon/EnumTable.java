@@ -0,0 +1,165 @@
+package nylon;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+
+
+/// Lookup table from C enum values to the constants of a {@link NativeEnum}, built once from a `static final`
+/// field of the enum. Reading the C constants (`WLR_SCENE_NODE_TREE()`, ...) is a call each time, the table
+/// reads them only once, when the enum is initialized.
+///
+/// Values in a small range (like `0..5` of `enum wlr_input_device_type`) are looked up by index in a dense
+/// array, others (like FourCC codes) by binary search in sorted arrays.
+///
+/// ```java
+/// private static final EnumTable<Type> table = EnumTable.of(Type.class, "wlr_scene_node_type");
+///
+/// public static Type of(int value) {
+///     return table.of(value);
+/// }
+/// ```
+@NullMarked
+public final class EnumTable<T extends Enum<T> & NativeEnum> {
+    /// Largest dense table, in entries.
+    private static final int MAX_DENSE_SIZE = 256;
+
+    private final Class<T> enumClass;
+    private final String cName;
+    private final T[] constants;
+
+    /// Dense: `dense[value - min]`, null when the values are too spread out.
+    private final @Nullable T @Nullable [] dense;
+    private final int min;
+
+    /// Sparse: the values sorted, and the constant for each.
+    private final int[] sortedValues;
+    private final T[] sortedConstants;
+
+
+    private EnumTable(Class<T> enumClass, String cName) {
+        this.enumClass = enumClass;
+        this.cName = cName;
+        this.constants = enumClass.getEnumConstants();
+
+        var sorted = constants.clone();
+        Arrays.sort(sorted, (a, b) -> Integer.compare(a.value(), b.value()));
+        sortedConstants = sorted;
+        sortedValues = Arrays.stream(sorted).mapToInt(NativeEnum::value).toArray();
+        for (int i = 1; i < sortedValues.length; i++) {
+            if (sortedValues[i] == sortedValues[i - 1])
+                throw new IllegalArgumentException("Duplicate value " + sortedValues[i] + " in " + enumClass.getName());
+        }
+
+        min = sortedValues.length == 0 ? 0 : sortedValues[0];
+        var range = sortedValues.length == 0 ? 0 : (long) sortedValues[sortedValues.length - 1] - min + 1;
+        if (range <= MAX_DENSE_SIZE) {
+            dense = newArray(enumClass, (int) range);
+            for (var constant : constants)
+                dense[constant.value() - min] = constant;
+        } else {
+            dense = null;
+        }
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static <T> @Nullable T[] newArray(Class<T> componentClass, int length) {
+        return (T[]) Array.newInstance(componentClass, length);
+    }
+
+
+    /// @param cName Name of the C enum, for error messages
+    public static <T extends Enum<T> & NativeEnum> EnumTable<T> of(Class<T> enumClass, String cName) {
+        return new EnumTable<>(enumClass, cName);
+    }
+
+
+    /// The constant for the C `value`.
+    ///
+    /// @throws RuntimeException If no constant has `value`
+    public T of(int value) {
+        var constant = lookup(value);
+        if (constant == null)
+            throw new RuntimeException("Invalid enum value from C code for " + cName + ": " + value);
+        return constant;
+    }
+
+
+    /// The constant for the C `value`, or null if no constant has it.
+    public @Nullable T lookup(int value) {
+        if (dense != null) {
+            var index = value - min;
+            // Unsigned comparison also rejects values below min
+            return Integer.compareUnsigned(index, dense.length) < 0 ? dense[index] : null;
+        }
+        var index = Arrays.binarySearch(sortedValues, value);
+        return index >= 0 ? sortedConstants[index] : null;
+    }
+
+
+    /// For enums of bit flags: the constants whose bits are set in `bitset`. Constants with the value 0 are never
+    /// included.
+    public EnumSet<T> fromBitset(int bitset) {
+        var set = EnumSet.noneOf(enumClass);
+        for (var constant : constants) {
+            if ((constant.value() & bitset) != 0)
+                set.add(constant);
+        }
+        return set;
+    }
+
+
+    /// For enums of bit flags: read-only set of the constants whose bits are set in `bitset`, computed on access.
+    /// Unlike {@link #fromBitset(int)}, creating it doesn't test every constant.
+    public Set<T> asSet(int bitset) {
+        return new BitsetView(bitset);
+    }
+
+
+    /// For enums of bit flags: the bitset of `constants`.
+    public static int toBitset(Set<? extends NativeEnum> constants) {
+        int bitset = 0;
+        for (var constant : constants)
+            bitset |= constant.value();
+        return bitset;
+    }
+
+
+    private final class BitsetView extends AbstractSet<T> {
+        private final int bitset;
+
+
+        BitsetView(int bitset) {
+            this.bitset = bitset;
+        }
+
+
+        @Override
+        public boolean contains(@Nullable Object o) {
+            return enumClass.isInstance(o) && (enumClass.cast(o).value() & bitset) != 0;
+        }
+
+
+        @Override
+        public Iterator<T> iterator() {
+            return Arrays.stream(constants).filter(constant -> (constant.value() & bitset) != 0).iterator();
+        }
+
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (var constant : constants) {
+                if ((constant.value() & bitset) != 0) size++;
+            }
+            return size;
+        }
+    }
+}
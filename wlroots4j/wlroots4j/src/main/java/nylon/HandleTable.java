@@ -0,0 +1,70 @@
+package nylon;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+
+
+/// Keeps Java objects reachable while native code holds an opaque handle to them, e.g. in a `void *data`
+/// field. Native memory can't reference Java objects directly, and storing them anywhere the GC can't see
+/// would let them be collected.
+///
+/// Handles are small positive integers (slot index + 1), so a handle is never `0` and fits a pointer: a
+/// NULL `data` field means "no object". Freed slots are reused.
+///
+/// Not thread safe.
+@NullMarked
+public final class HandleTable<T> {
+    private @Nullable Object[] objects = new Object[16];
+    private int[] freeSlots = new int[16];
+    private int freeCount = 0;
+    private int used = 0;
+    private int size = 0;
+
+
+    /// @return Handle of the stored `object`, never `0`
+    public long add(T object) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (used == objects.length) {
+                objects = Arrays.copyOf(objects, used * 2);
+                freeSlots = Arrays.copyOf(freeSlots, used * 2);
+            }
+            slot = used++;
+        }
+        objects[slot] = object;
+        size++;
+        return slot + 1L;
+    }
+
+
+    /// @return Object stored under `handle`, or NULL if the handle is `0` or not in use
+    @SuppressWarnings("unchecked")
+    public @Nullable T get(long handle) {
+        if (handle <= 0 || handle > used) return null;
+        return (T) objects[(int) handle - 1];
+    }
+
+
+    /// Release the `handle`, its slot may be returned again by {@link #add(Object)}.
+    ///
+    /// @return Object that was stored under `handle`, or NULL if the handle wasn't in use
+    public @Nullable T remove(long handle) {
+        var object = get(handle);
+        if (object == null) return null;
+
+        int slot = (int) handle - 1;
+        objects[slot] = null;
+        freeSlots[freeCount++] = slot;
+        size--;
+        return object;
+    }
+
+
+    public int size() {
+        return size;
+    }
+}
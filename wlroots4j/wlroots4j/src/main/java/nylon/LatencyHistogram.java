@@ -0,0 +1,90 @@
+package nylon;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Arrays;
+
+
+/// Histogram of non-negative `long` values (e.g. nanoseconds) with log-linear buckets, like HdrHistogram with
+/// ~3% precision: values below 64 get their own bucket, above that every power of two is split into 32
+/// buckets. Recording is a few arithmetic operations and an array increment, it doesn't allocate.
+///
+/// Not thread safe.
+@NullMarked
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long sum = 0;
+    private long max = 0;
+
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts[bucketOf(value)]++;
+        count++;
+        sum += value;
+        if (value > max) max = value;
+    }
+
+
+    public long count() {
+        return count;
+    }
+
+
+    public long max() {
+        return max;
+    }
+
+
+    public long sum() {
+        return sum;
+    }
+
+
+    public double mean() {
+        return count > 0 ? (double) sum / count : 0;
+    }
+
+
+    /// @param percentile Between 0 and 100
+    /// @return Highest value of the bucket containing the percentile (at most {@link #max()}), or 0 if there
+    ///     are no recorded values
+    public long percentile(double percentile) {
+        if (count == 0) return 0;
+        var rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) return Math.min(bucketHighestValue(i), max);
+        }
+        return max;
+    }
+
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+
+    static int bucketOf(long value) {
+        if (value < 2 * SUB_BUCKETS) return (int) value;
+        var shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+
+    static long bucketHighestValue(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) return bucket;
+        var shift = bucket / SUB_BUCKETS - 1;
+        var mantissa = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS);
+        return (mantissa << shift) + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,144 @@
+package nylon;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+
+/// Hash map with primitive `long` keys, meant for looking up Java objects by native pointer address without
+/// boxing the key on every lookup.
+///
+/// Open addressing with linear probing. Key `0` is used to mark empty slots, so it can't be stored: that's
+/// fine for addresses, since NULL pointers never get stored.
+///
+/// Not thread safe.
+@NullMarked
+public final class LongMap<V> {
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private long[] keys;
+    private @Nullable Object[] values;
+    private int size = 0;
+    private int mask;
+
+
+    public LongMap() {
+        this(MINIMUM_CAPACITY);
+    }
+
+
+    public LongMap(int expectedSize) {
+        var capacity = Math.max(MINIMUM_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize * 2 - 1)) << 1);
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(long key) {
+        assert key != 0 : "Key 0 is reserved for empty slots";
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            var k = keys[i];
+            if (k == key) return (V) values[i];
+            if (k == 0) return null;
+        }
+    }
+
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+
+    /// @return Previous value associated with the `key`, or NULL if there was none
+    @SuppressWarnings("unchecked")
+    public @Nullable V put(long key, V value) {
+        assert key != 0 : "Key 0 is reserved for empty slots";
+        int i = slot(key);
+        for (; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                var previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) resize(keys.length * 2);
+        return null;
+    }
+
+
+    /// @return Removed value, or NULL if the `key` wasn't present
+    @SuppressWarnings("unchecked")
+    public @Nullable V remove(long key) {
+        assert key != 0 : "Key 0 is reserved for empty slots";
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            var k = keys[i];
+            if (k == 0) return null;
+            if (k == key) {
+                var removed = (V) values[i];
+                shiftBack(i);
+                size--;
+                return removed;
+            }
+        }
+    }
+
+
+    public void clear() {
+        java.util.Arrays.fill(keys, 0);
+        java.util.Arrays.fill(values, null);
+        size = 0;
+    }
+
+
+    private int slot(long key) {
+        return Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+    }
+
+
+    /// Backward shift deletion: move entries of the probe chain following the `emptied` slot into it, so
+    /// lookups don't stop early on the hole. No tombstones needed.
+    private void shiftBack(int emptied) {
+        int hole = emptied;
+        for (int i = (hole + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            int home = slot(keys[i]);
+            // Move the entry only if its home slot isn't cyclically within (hole, i]
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = null;
+    }
+
+
+    private void resize(int newCapacity) {
+        var oldKeys = keys;
+        var oldValues = values;
+        keys = new long[newCapacity];
+        values = new Object[newCapacity];
+        mask = newCapacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            var key = oldKeys[j];
+            if (key == 0) continue;
+            int i = slot(key);
+            while (keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = key;
+            values[i] = oldValues[j];
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package nylon;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Arrays;
+
+
+/// Fixed size ring buffer of `long` samples, keeps the last `capacity` ones. Recording a sample doesn't
+/// allocate, so it can be used on hot paths; statistics are computed on demand from a copy.
+///
+/// Not thread safe.
+@NullMarked
+public final class LongRingBuffer {
+    private final long[] samples;
+    private int next = 0;
+    private int size = 0;
+
+
+    public LongRingBuffer(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        samples = new long[capacity];
+    }
+
+
+    public void add(long sample) {
+        samples[next] = sample;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) size++;
+    }
+
+
+    /// Number of samples held, at most the capacity.
+    public int size() {
+        return size;
+    }
+
+
+    public void clear() {
+        next = 0;
+        size = 0;
+    }
+
+
+    /// @return Samples held, oldest first
+    public long[] toArray() {
+        var result = new long[size];
+        var start = (next - size + samples.length) % samples.length;
+        for (int i = 0; i < size; i++) {
+            result[i] = samples[(start + i) % samples.length];
+        }
+        return result;
+    }
+
+
+    /// @return Samples held, sorted ascending. Pass to {@link #percentile(long[], double)}.
+    public long[] sorted() {
+        var result = toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+
+    /// Nearest-rank percentile of sorted samples.
+    ///
+    /// @param percentile Between 0 and 100
+    /// @return The percentile, or 0 if there are no samples
+    public static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        var rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.clamp(rank - 1, 0, sorted.length - 1)];
+    }
+}
@@ -0,0 +1,12 @@
+package nylon;
+
+import org.jspecify.annotations.NullMarked;
+
+
+/// Java enum for a C enum: each constant carries the value of its C counterpart. Lets the binding enums share
+/// {@link EnumTable} for converting C values back to constants, and for bitmasks.
+@NullMarked
+public interface NativeEnum {
+    /// The C value of this constant.
+    int value();
+}
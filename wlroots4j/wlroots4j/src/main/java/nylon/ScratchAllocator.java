@@ -0,0 +1,85 @@
+package nylon;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
+import java.util.Arrays;
+
+
+/// Per-thread bump allocator for short-lived native memory: out-parameters, C strings passed to a single call
+/// and similar. Replaces the `try (var arena = Arena.ofConfined()) {}` pattern, which has to allocate and
+/// free native memory and set up an Arena on every call.
+///
+/// ```java
+/// try (var scratch = ScratchAllocator.acquire()) {
+///     var lx = scratch.allocate(ValueLayout.JAVA_INT);
+///     wlr_scene_node_coords(nodePtr, lx, ...);
+///     return lx.get(ValueLayout.JAVA_INT, 0);
+/// }
+/// ```
+///
+/// Closing resets the allocator to where it was when {@link #acquire()} was called, so scopes can be nested
+/// (e.g. logging from within a scope). Segments must not be used after their scope is closed: unlike with a
+/// confined Arena, that's not detected, the memory just gets reused.
+///
+/// Allocations that don't fit in the per-thread buffer fall back to a confined Arena which is closed together
+/// with the outermost scope.
+@NullMarked
+public final class ScratchAllocator implements SegmentAllocator, AutoCloseable {
+    private static final long CAPACITY = 4096;
+    private static final ThreadLocal<ScratchAllocator> perThread =
+        ThreadLocal.withInitial(ScratchAllocator::new);
+
+    private final MemorySegment buffer = Arena.ofAuto().allocate(CAPACITY, 16);
+    private long offset = 0;
+
+    /// Offsets at which the open scopes were acquired.
+    private long[] marks = new long[8];
+    private int depth = 0;
+
+    private @Nullable Arena overflowArena = null;
+
+
+    private ScratchAllocator() {
+    }
+
+
+    /// Open a scope on this thread's allocator. Use with try-with-resources.
+    public static ScratchAllocator acquire() {
+        var scratch = perThread.get();
+        if (scratch.depth == scratch.marks.length) {
+            scratch.marks = Arrays.copyOf(scratch.marks, scratch.depth * 2);
+        }
+        scratch.marks[scratch.depth++] = scratch.offset;
+        return scratch;
+    }
+
+
+    @Override
+    public MemorySegment allocate(long byteSize, long byteAlignment) {
+        assert depth > 0 : "ScratchAllocator used outside of acquire() scope";
+        var start = (offset + byteAlignment - 1) & -byteAlignment;
+        if (byteAlignment > 16 || start + byteSize > CAPACITY) {
+            if (overflowArena == null) overflowArena = Arena.ofConfined();
+            return overflowArena.allocate(byteSize, byteAlignment);
+        }
+
+        offset = start + byteSize;
+        return buffer.asSlice(start, byteSize).fill((byte) 0);
+    }
+
+
+    /// Close the innermost scope, releasing everything allocated since it was acquired.
+    @Override
+    public void close() {
+        assert depth > 0 : "ScratchAllocator closed more times than acquired";
+        offset = marks[--depth];
+        if (depth == 0 && overflowArena != null) {
+            overflowArena.close();
+            overflowArena = null;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package nylon;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+
+/// Hierarchical timer wheel: keeps any number of timeouts, with O(1) scheduling and cancelling. Time is in
+/// ticks (milliseconds for {@link wayland.server.EventLoopTimers}) and only moves forward with
+/// {@link #advance(long)}, the wheel doesn't read any clock.
+///
+/// There are 4 levels of 64 slots. Level 0 has one slot per tick, each slot of level `n` covers `64^n` ticks.
+/// A timeout is put in the level its remaining delay fits in, and moves down a level ("cascades") when the
+/// wheel reaches the start of its slot. Each slot is an intrusive doubly linked list, each level has a bitmap
+/// of non-empty slots, so {@link #advance(long)} skips empty slots and {@link #nextExpiry()} needs no scan.
+/// Delays beyond `64^4` ticks (~4.6 hours in milliseconds) are parked in the last slot reachable, and
+/// re-inserted from there.
+///
+/// Not thread safe.
+@NullMarked
+public final class TimerWheel {
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long MAX_DELAY = (1L << (LEVELS * SLOT_BITS)) - 1;
+
+    private final @Nullable Timeout[] slots = new Timeout[LEVELS * SLOTS];
+    private final long[] occupied = new long[LEVELS];
+    private long now;
+    private int size = 0;
+
+
+    /// @param now Current time, in ticks
+    public TimerWheel(long now) {
+        this.now = now;
+    }
+
+
+    /// A scheduled task, handle for cancelling it.
+    public static final class Timeout {
+        private final TimerWheel wheel;
+        private final Runnable task;
+        private final long deadline;
+        private @Nullable Timeout prev = null;
+        private @Nullable Timeout next = null;
+        /// Index into `slots`, -1 when not scheduled (fired or cancelled).
+        private int slot = -1;
+
+
+        private Timeout(TimerWheel wheel, long deadline, Runnable task) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+
+        public long deadline() {
+            return deadline;
+        }
+
+
+        public boolean isPending() {
+            return slot >= 0;
+        }
+
+
+        /// @return False if the timeout already fired or was cancelled
+        public boolean cancel() {
+            if (slot < 0) return false;
+            wheel.unlink(this);
+            return true;
+        }
+    }
+
+
+    /// Run `task` once, `delay` ticks from now. A delay of 0 or less runs it on the next tick.
+    public Timeout schedule(long delay, Runnable task) {
+        var timeout = new Timeout(this, now + Math.max(delay, 1), task);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+
+    /// Number of pending timeouts.
+    public int size() {
+        return size;
+    }
+
+
+    public long now() {
+        return now;
+    }
+
+
+    /// Move the time forward to `to`, running the tasks of all the timeouts expiring until then, in the order of
+    /// their deadlines. Tasks may schedule and cancel timeouts.
+    ///
+    /// @return Number of tasks that ran
+    public int advance(long to) {
+        int fired = 0;
+        while (size > 0) {
+            var tick = nextExpiry();
+            if (tick > to) break;
+            now = tick;
+            cascade();
+            fired += fire((int) (now & SLOT_MASK));
+        }
+        if (to > now) now = to;
+        return fired;
+    }
+
+
+    /// @return The tick at which {@link #advance(long)} has to be called next, or `Long.MAX_VALUE` if there are
+    ///     no timeouts. May be earlier than the nearest deadline, when timeouts have to cascade first.
+    public long nextExpiry() {
+        var earliest = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            if (occupied[level] == 0) continue;
+            var shift = level * SLOT_BITS;
+            var current = now >>> shift;
+            // Distance (1..64) from the current slot to the next non-empty one, the current slot of every level
+            // has already been processed
+            var rotated = Long.rotateRight(occupied[level], (int) ((current + 1) & SLOT_MASK));
+            var distance = Long.numberOfTrailingZeros(rotated) + 1;
+            earliest = Math.min(earliest, (current + distance) << shift);
+        }
+        return earliest;
+    }
+
+
+    // *** Internals ***
+
+
+    private void insert(Timeout timeout) {
+        var delay = timeout.deadline - now;
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << ((level + 1) * SLOT_BITS)) {
+            level++;
+        }
+        var tick = delay > MAX_DELAY ? now + MAX_DELAY : timeout.deadline;
+        var index = (int) ((tick >>> (level * SLOT_BITS)) & SLOT_MASK);
+        var slot = level * SLOTS + index;
+
+        var head = slots[slot];
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) head.prev = timeout;
+        slots[slot] = timeout;
+        timeout.slot = slot;
+        occupied[level] |= 1L << index;
+    }
+
+
+    private void unlink(Timeout timeout) {
+        var slot = timeout.slot;
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[slot] = timeout.next;
+            if (timeout.next == null) occupied[slot / SLOTS] &= ~(1L << (slot % SLOTS));
+        }
+        if (timeout.next != null) timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.slot = -1;
+        size--;
+    }
+
+
+    /// When `now` is at the start of a slot of the upper levels, move its timeouts down. Re-inserting never
+    /// puts a timeout back into the slot being emptied.
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            var shift = level * SLOT_BITS;
+            if ((now & ((1L << shift) - 1)) != 0) return;
+
+            var slot = level * SLOTS + (int) ((now >>> shift) & SLOT_MASK);
+            Timeout timeout;
+            while ((timeout = slots[slot]) != null) {
+                unlink(timeout);
+                insert(timeout);
+                size++;
+            }
+        }
+    }
+
+
+    private int fire(int slot) {
+        int fired = 0;
+        Timeout timeout;
+        // New timeouts scheduled by the tasks never land in this slot, they expire at now + 1 at the earliest
+        while ((timeout = slots[slot]) != null) {
+            unlink(timeout);
+            timeout.task.run();
+            fired++;
+        }
+        return fired;
+    }
+}
@@ -1,25 +1,33 @@
 package wayland;
 
+import nylon.EnumTable;
+import nylon.NativeEnum;
+
 import static jextract.wayland.wl.WL_KEYBOARD_KEY_STATE_RELEASED;
 import static jextract.wayland.wl.WL_KEYBOARD_KEY_STATE_PRESSED;
 
 
-public enum KeyboardKeyState {
+public enum KeyboardKeyState implements NativeEnum {
     Pressed(WL_KEYBOARD_KEY_STATE_PRESSED()),
     Released(WL_KEYBOARD_KEY_STATE_RELEASED());
 
     public final int value;
 
+    private static final EnumTable<KeyboardKeyState> table = EnumTable.of(KeyboardKeyState.class, "wl_keyboard_key_state");
+
 
     KeyboardKeyState(int value) {
         this.value = value;
     }
 
 
-    public static KeyboardKeyState of(int value) {
-        if (value == WL_KEYBOARD_KEY_STATE_PRESSED())  return Pressed;
-        if (value == WL_KEYBOARD_KEY_STATE_RELEASED()) return Released;
+    @Override
+    public int value() {
+        return value;
+    }
+
 
-        throw new RuntimeException("Invalid enum value from C code for wl_keyboard_key_state");
+    public static KeyboardKeyState of(int value) {
+        return table.of(value);
     }
 }
\ No newline at end of file
@@ -1,26 +1,34 @@
 package wayland;
 
+import nylon.EnumTable;
+import nylon.NativeEnum;
+
 import static jextract.wayland.wl.WL_POINTER_AXIS_HORIZONTAL_SCROLL;
 import static jextract.wayland.wl.WL_POINTER_AXIS_VERTICAL_SCROLL;
 
 
-public enum PointerAxis {
+public enum PointerAxis implements NativeEnum {
     VerticalScroll(WL_POINTER_AXIS_VERTICAL_SCROLL()),
     HorizontalScroll(WL_POINTER_AXIS_HORIZONTAL_SCROLL());
 
 
     public final int value;
 
+    private static final EnumTable<PointerAxis> table = EnumTable.of(PointerAxis.class, "wl_pointer_axis");
+
 
     PointerAxis(int value) {
         this.value = value;
     }
 
 
-    public static PointerAxis of(int value) {
-        if (value == WL_POINTER_AXIS_VERTICAL_SCROLL())   return VerticalScroll;
-        if (value == WL_POINTER_AXIS_HORIZONTAL_SCROLL()) return HorizontalScroll;
+    @Override
+    public int value() {
+        return value;
+    }
+
 
-        throw new RuntimeException("Invalid enum value from C code for wl_pointer_axis");
+    public static PointerAxis of(int value) {
+        return table.of(value);
     }
 }
\ No newline at end of file
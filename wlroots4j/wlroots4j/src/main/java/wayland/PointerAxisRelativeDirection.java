@@ -1,25 +1,33 @@
 package wayland;
 
+import nylon.EnumTable;
+import nylon.NativeEnum;
+
 import static jextract.wayland.wl.WL_POINTER_AXIS_RELATIVE_DIRECTION_IDENTICAL;
 import static jextract.wayland.wl.WL_POINTER_AXIS_RELATIVE_DIRECTION_INVERTED;
 
 
-public enum PointerAxisRelativeDirection {
+public enum PointerAxisRelativeDirection implements NativeEnum {
     Identical(WL_POINTER_AXIS_RELATIVE_DIRECTION_IDENTICAL()),
     Inverted(WL_POINTER_AXIS_RELATIVE_DIRECTION_INVERTED());
 
     public final int value;
 
+    private static final EnumTable<PointerAxisRelativeDirection> table = EnumTable.of(PointerAxisRelativeDirection.class, "wl_pointer_axis_relative_direction");
+
 
     PointerAxisRelativeDirection(int value) {
         this.value = value;
     }
 
 
-    public static PointerAxisRelativeDirection of(int value) {
-        if (value == WL_POINTER_AXIS_RELATIVE_DIRECTION_IDENTICAL()) return Identical;
-        if (value == WL_POINTER_AXIS_RELATIVE_DIRECTION_INVERTED()) return Inverted;
+    @Override
+    public int value() {
+        return value;
+    }
+
 
-        throw new RuntimeException("Invalid enum value from C code for wl_pointer_axis_relative_direction");
+    public static PointerAxisRelativeDirection of(int value) {
+        return table.of(value);
     }
 }
\ No newline at end of file
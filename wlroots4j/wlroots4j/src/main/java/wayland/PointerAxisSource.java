@@ -1,9 +1,12 @@
 package wayland;
 
+import nylon.EnumTable;
+import nylon.NativeEnum;
+
 import static jextract.wayland.wl.*;
 
 
-public enum PointerAxisSource {
+public enum PointerAxisSource implements NativeEnum {
     Wheel(WL_POINTER_AXIS_SOURCE_WHEEL()),
     Finger(WL_POINTER_AXIS_SOURCE_FINGER()),
     Continuous(WL_POINTER_AXIS_SOURCE_CONTINUOUS()),
@@ -11,18 +14,21 @@ public enum PointerAxisSource {
 
     public final int value;
 
+    private static final EnumTable<PointerAxisSource> table = EnumTable.of(PointerAxisSource.class, "wl_pointer_axis_source");
+
 
     PointerAxisSource(int value) {
         this.value = value;
     }
 
 
-    public static PointerAxisSource of(int value) {
-        if (value == WL_POINTER_AXIS_SOURCE_WHEEL())      return Wheel;
-        if (value == WL_POINTER_AXIS_SOURCE_FINGER())     return Finger;
-        if (value == WL_POINTER_AXIS_SOURCE_CONTINUOUS()) return Continuous;
-        if (value == WL_POINTER_AXIS_SOURCE_WHEEL_TILT()) return WheelTilt;
+    @Override
+    public int value() {
+        return value;
+    }
+
 
-        throw new RuntimeException("Invalid enum value from C code for wl_pointer_axis_source");
+    public static PointerAxisSource of(int value) {
+        return table.of(value);
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package wayland;
 
+import nylon.EnumTable;
+import nylon.NativeEnum;
 import org.jspecify.annotations.NullMarked;
 
 import static jextract.wayland.wl.WL_POINTER_BUTTON_STATE_PRESSED;
@@ -7,23 +9,28 @@ import static jextract.wayland.wl.WL_POINTER_BUTTON_STATE_RELEASED;
 
 
 @NullMarked
-public enum PointerButtonState {
+public enum PointerButtonState implements NativeEnum {
     Pressed(WL_POINTER_BUTTON_STATE_PRESSED()),
     Released(WL_POINTER_BUTTON_STATE_RELEASED());
 
     public final int value;
 
+    private static final EnumTable<PointerButtonState> table = EnumTable.of(PointerButtonState.class, "wl_pointer_button_state");
+
 
     PointerButtonState(int value) {
         this.value = value;
     }
 
 
-    public static PointerButtonState of(int value) {
-        if (value == WL_POINTER_BUTTON_STATE_PRESSED()) return Pressed;
-        if (value == WL_POINTER_BUTTON_STATE_RELEASED()) return Released;
+    @Override
+    public int value() {
+        return value;
+    }
 
-        throw new RuntimeException("Invalid enum value from C code for wl_pointer_button_state");
+
+    public static PointerButtonState of(int value) {
+        return table.of(value);
     }
 
 
@@ -1,22 +1,40 @@
 package wayland.server;
 
+import jextract.wayland.wl_event_loop_fd_func_t;
+import jextract.wayland.wl_event_loop_idle_func_t;
+import jextract.wayland.wl_event_loop_signal_func_t;
 import jextract.wayland.wl_event_loop_timer_func_t;
+import nylon.LongMap;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.util.function.IntConsumer;
 import java.util.function.IntSupplier;
 import java.util.function.ToIntFunction;
 
 import static java.lang.foreign.MemorySegment.NULL;
-import static jextract.wayland.wl.wl_event_loop_add_timer;
+import static jextract.wayland.wl.*;
 
 
 @NullMarked
 public class EventLoop {
     public final MemorySegment eventLoopPtr;
 
+    /// File descriptor event mask bits, for {@link #addFd(Arena, int, int, FdFunction)}.
+    public static final int READABLE = WL_EVENT_READABLE();
+    public static final int WRITABLE = WL_EVENT_WRITABLE();
+    public static final int HANGUP = WL_EVENT_HANGUP();
+    public static final int ERROR = WL_EVENT_ERROR();
+
+    /// Callbacks of pending idle sources, by id passed as `void *data` to the shared upcall stub. Idle
+    /// sources are one-shot and often created per loop iteration, so they don't get an upcall stub each.
+    private static final LongMap<Runnable> pendingIdles = new LongMap<>();
+    private static long nextIdleId = 1;
+    private static final MemorySegment sharedIdleFuncPtr =
+        wl_event_loop_idle_func_t.allocate(EventLoop::dispatchIdleCallback, Arena.global());
+
 
     public EventLoop(MemorySegment eventLoopPtr) {
         assert !eventLoopPtr.equals(NULL);
@@ -49,4 +67,117 @@ public class EventLoop {
         var eventSourcePtr = wl_event_loop_add_timer(eventLoopPtr, timerFuncPtr, NULL);
         return new EventSource(eventSourcePtr);
     }
-}
\ No newline at end of file
+
+
+    /// Create a file descriptor event source. The callback is called on the event loop thread whenever `fd`
+    /// is ready for any of the events in `mask`.
+    ///
+    /// @param arena Owns the upcall stub, must stay open until the event source is removed
+    /// @param mask Bitwise OR of {@link #READABLE} and {@link #WRITABLE}. {@link #HANGUP} and {@link #ERROR}
+    ///     are always reported.
+    public EventSource addFd(Arena arena, int fd, int mask, FdFunction func) {
+        var fdFuncPtr = wl_event_loop_fd_func_t.allocate(
+            (int eventFd, int eventMask, MemorySegment _) -> func.onFdEvent(eventFd, eventMask),
+            arena
+        );
+        var eventSourcePtr = wl_event_loop_add_fd(eventLoopPtr, fd, mask, fdFuncPtr, NULL);
+        return new EventSource(eventSourcePtr);
+    }
+
+
+    /// Create a POSIX signal event source. `wl_event_loop_add_signal()` blocks the signal with `sigprocmask()`
+    /// and reads it from a `signalfd`, so `func` runs on the event loop thread like any other callback.
+    ///
+    /// The signal is only blocked on the calling thread though, not in the whole process. In a JVM the other
+    /// threads (the Signal Dispatcher, GC and compiler threads, virtual thread carriers, ...) leave it unblocked,
+    /// and the kernel may deliver a process-directed signal (`kill`) to any of them, then `func` never runs.
+    /// It's reliable only for signals directed at the event loop thread (`tgkill`, `pthread_kill`).
+    ///
+    /// Signals the JVM handles itself can't work this way at all: `SIGINT`, `SIGTERM` and `SIGHUP` (shutdown
+    /// hooks, use `Runtime.addShutdownHook()` instead), `SIGQUIT` (thread dumps), and `SIGSEGV`, `SIGBUS`,
+    /// `SIGFPE`, `SIGILL`, `SIGPIPE` and `SIGUSR2`, which HotSpot uses internally. Call this from the event loop
+    /// thread.
+    ///
+    /// @param arena Owns the upcall stub, must stay open until the event source is removed
+    public EventSource addSignal(Arena arena, int signalNumber, IntConsumer func) {
+        var signalFuncPtr = wl_event_loop_signal_func_t.allocate(
+            (int signal, MemorySegment _) -> {
+                func.accept(signal);
+                return 0;
+            },
+            arena
+        );
+        var eventSourcePtr = wl_event_loop_add_signal(eventLoopPtr, signalNumber, signalFuncPtr, NULL);
+        return new EventSource(eventSourcePtr);
+    }
+
+
+    /// Create an idle task. `func` is called once, when the event loop has no more events to process, before
+    /// it goes to sleep. The event source is removed automatically after that.
+    ///
+    /// All idle sources share one upcall stub, no Arena is needed. Removing the returned source before it
+    /// fires cancels the task.
+    public EventSource addIdle(Runnable func) {
+        var id = nextIdleId++;
+        pendingIdles.put(id, func);
+        var eventSourcePtr = wl_event_loop_add_idle(eventLoopPtr, sharedIdleFuncPtr, MemorySegment.ofAddress(id));
+        return new IdleSource(eventSourcePtr, id);
+    }
+
+
+    /// Wait for events and dispatch them.
+    ///
+    /// @param timeoutMs How long to wait for events, 0 to return immediately, -1 to wait indefinitely
+    /// @return 0 on success, -1 on failure
+    public int dispatch(int timeoutMs) {
+        return wl_event_loop_dispatch(eventLoopPtr, timeoutMs);
+    }
+
+
+    /// Dispatch the idle sources only.
+    public void dispatchIdle() {
+        wl_event_loop_dispatch_idle(eventLoopPtr);
+    }
+
+
+    /// Get the file descriptor of the event loop (an epoll fd). It becomes readable when events are pending,
+    /// which allows nesting the Wayland event loop in another one (then call {@link #dispatch(int)} with 0).
+    public int getFd() {
+        return wl_event_loop_get_fd(eventLoopPtr);
+    }
+
+
+    /// Target of the shared idle upcall stub.
+    private static void dispatchIdleCallback(MemorySegment data) {
+        var func = pendingIdles.remove(data.address());
+        assert func != null : "Unknown idle source: " + data.address();
+        func.run();
+    }
+
+
+    private static final class IdleSource extends EventSource {
+        private final long id;
+
+
+        IdleSource(MemorySegment eventSourcePtr, long id) {
+            super(eventSourcePtr);
+            this.id = id;
+        }
+
+
+        @Override
+        public int remove() {
+            // Only remove the native source if it hasn't fired yet, libwayland destroys it after dispatch
+            if (pendingIdles.remove(id) == null) return 0;
+            return super.remove();
+        }
+    }
+
+
+    @FunctionalInterface
+    public interface FdFunction {
+        /// @param mask Events that occurred, see {@link #READABLE}, ...
+        /// @return Ignored by libwayland, use 0
+        int onFdEvent(int fd, int mask);
+    }
+}
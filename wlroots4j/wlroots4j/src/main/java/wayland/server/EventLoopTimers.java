@@ -0,0 +1,93 @@
+package wayland.server;
+
+import nylon.TimerWheel;
+import org.jspecify.annotations.NullMarked;
+
+import java.lang.foreign.Arena;
+
+
+/// Any number of timers on a single timer event source. Each `wl_event_loop_add_timer()` costs a `timerfd`,
+/// an epoll registration and an upcall stub, this needs one of each in total.
+///
+/// The timeouts are kept in a {@link TimerWheel} with millisecond ticks, scheduling and cancelling are O(1).
+/// The native timer is armed for the next expiry of the wheel only.
+///
+/// ```java
+/// var timeout = timers.schedule(200, this::startRepeating);
+/// ...
+/// timeout.cancel();
+/// ```
+///
+/// Convenience class, does not exist in libwayland. Use only from the event loop thread.
+@NullMarked
+public final class EventLoopTimers implements AutoCloseable {
+    private final Arena arena = Arena.ofConfined();
+    private final TimerWheel wheel = new TimerWheel(nowMs());
+    private final EventSource eventSource;
+    /// Tick for which the native timer is armed, `Long.MAX_VALUE` when disarmed.
+    private long armedFor = Long.MAX_VALUE;
+    private boolean closed = false;
+
+
+    private EventLoopTimers(EventLoop eventLoop) {
+        eventSource = eventLoop.addTimer(arena, this::onTimer);
+    }
+
+
+    public static EventLoopTimers create(EventLoop eventLoop) {
+        return new EventLoopTimers(eventLoop);
+    }
+
+
+    /// Run `task` once on the event loop thread, after `delayMs` milliseconds.
+    ///
+    /// @return Handle for cancelling the timeout
+    public TimerWheel.Timeout schedule(long delayMs, Runnable task) {
+        if (closed) throw new IllegalStateException("EventLoopTimers is closed");
+        // Catch up first, the wheel's clock only moves in advance()
+        var timeout = wheel.schedule(delayMs + nowMs() - wheel.now(), task);
+        if (timeout.deadline() < armedFor) arm();
+        return timeout;
+    }
+
+
+    /// Number of pending timeouts.
+    public int size() {
+        return wheel.size();
+    }
+
+
+    /// Remove the event source. Pending timeouts never run.
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        eventSource.remove();
+        arena.close();
+    }
+
+
+    private int onTimer() {
+        armedFor = Long.MAX_VALUE;
+        wheel.advance(nowMs());
+        if (!closed) arm();
+        return 0;
+    }
+
+
+    private void arm() {
+        var next = wheel.nextExpiry();
+        armedFor = next;
+        if (next == Long.MAX_VALUE) {
+            eventSource.timerUpdate(0);
+        } else {
+            // 0 would disarm the timer, 1ms is the resolution anyway
+            eventSource.timerUpdate((int) Math.clamp(next - nowMs(), 1, Integer.MAX_VALUE));
+        }
+    }
+
+
+    private static long nowMs() {
+        return System.nanoTime() / 1_000_000;
+    }
+}
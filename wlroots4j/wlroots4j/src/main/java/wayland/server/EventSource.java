@@ -5,6 +5,8 @@ import org.jspecify.annotations.Nullable;
 import java.lang.foreign.MemorySegment;
 
 import static java.lang.foreign.MemorySegment.NULL;
+import static jextract.wayland.wl.wl_event_source_check;
+import static jextract.wayland.wl.wl_event_source_fd_update;
 import static jextract.wayland.wl.wl_event_source_timer_update;
 import static jextract.wayland.wl_1.wl_event_source_remove;
 
@@ -34,6 +36,19 @@ public class EventSource {
     }
 
 
+    /// Change the mask of events a file descriptor source is watched for, see {@link EventLoop#READABLE}.
+    public int fdUpdate(int mask) {
+        return wl_event_source_fd_update(eventSourcePtr, mask);
+    }
+
+
+    /// Mark this source to be dispatched again in the current loop iteration, for sources that may have more
+    /// data left than they processed in one callback.
+    public void check() {
+        wl_event_source_check(eventSourcePtr);
+    }
+
+
     public int remove() {
         return wl_event_source_remove(eventSourcePtr);
     }
@@ -0,0 +1,17 @@
+package wayland.server;
+
+import java.lang.foreign.MemorySegment;
+
+
+/// Wrapper of a native struct that can be pointed to another instance of the same struct, so that
+/// {@link Signal.Signal1#addFlyweight} can reuse one view for every emission instead of allocating a new
+/// one.
+///
+/// Implementations must read the fields lazily from the current pointer, not copy them in the constructor.
+/// Event wrappers keep their copied `public final` fields for {@link Signal.Signal1#add} and provide a nested
+/// `View` class implementing this interface.
+public interface Flyweight {
+
+    /// Point this wrapper to the struct at `ptr`.
+    void rebind(MemorySegment ptr);
+}
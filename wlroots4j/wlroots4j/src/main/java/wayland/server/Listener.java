@@ -2,12 +2,16 @@ package wayland.server;
 
 import jextract.wayland.wl_listener;
 import jextract.wayland.wl_notify_func_t;
+import nylon.LongMap;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import wayland.util.List;
 import wayland.util.List.ElementMetadata;
+import wayland.util.ListOps;
 
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.util.function.BiConsumer;
 
 import static java.lang.foreign.MemorySegment.NULL;
 
@@ -30,17 +34,54 @@ import static java.lang.foreign.MemorySegment.NULL;
 /// this from happening, making it error-prone and non-deterministic.
 /// * Confined with resources - lifetimes are not scope based, but dynamic.
 ///
-/// That means we have to use some sort of manual disposal of Arenas. First we have to call .remove() on the
-/// list side, then close the Arena.
+/// That means we have to use some sort of manual disposal of Arenas. Listeners created with
+/// {@link #allocate(BiConsumer)} own a confined Arena, and {@link #remove()} first removes them from the
+/// signal's list, then closes the Arena. Such a listener can't be added to a signal again after removal. Use
+/// {@link ListenerGroup} to release all listeners of one object at once.
+///
+/// Listeners in memory managed by the caller ({@link #allocate(Arena, wl_notify_func_t.Function)},
+/// {@link #Listener(MemorySegment)}) can be removed and added again any number of times.
+///
+/// # Upcalls
+///
+/// Creating an upcall stub is expensive (method handle spin-up, code generation), so all listeners created
+/// with {@link #allocate(BiConsumer)} share one `wl_notify_func_t` stub. It looks up the Java callback by the
+/// address of the `wl_listener` it was called with. The per-listener Arena only holds the `wl_listener`
+/// itself, so it's safe to free it from within its own callback (libwayland doesn't touch the listener after
+/// calling it).
+///
+/// Everything here runs on the `wl_display` event loop thread, so no synchronization is done.
 @NullMarked
 public class Listener implements List.Element<Listener> {
     public final MemorySegment listenerPtr;
-    public static ElementMetadata<Listener> listElementMeta = new ElementMetadata<>(Listener.class, wl_listener.layout(), "link");
+    public static ElementMetadata<Listener> listElementMeta =
+        new ElementMetadata<>(Listener.class, wl_listener.layout(), "link", Listener::new);
+
+    /// Arena owning the `wl_listener`, NULL if this is just a view of a native listener.
+    private final @Nullable Arena arena;
+    private final @Nullable BiConsumer<Listener, MemorySegment> notify;
+    /// Only for self-owned listeners, whose memory is gone after removal.
+    private boolean removed = false;
+
+    /// Listeners using the shared upcall stub, by `wl_listener` address.
+    private static final LongMap<Listener> dispatchTable = new LongMap<>(256);
+
+    /// The one upcall stub shared by all listeners from {@link #allocate(BiConsumer)}.
+    private static final MemorySegment sharedNotifyPtr = wl_notify_func_t.allocate(Listener::dispatch, Arena.global());
 
 
     public Listener(MemorySegment listenerPtr) {
+        this(listenerPtr, null, null);
+    }
+
+
+    private Listener(MemorySegment listenerPtr,
+                     @Nullable Arena arena,
+                     @Nullable BiConsumer<Listener, MemorySegment> notify) {
         assert !listenerPtr.equals(NULL);
         this.listenerPtr = listenerPtr;
+        this.arena = arena;
+        this.notify = notify;
     }
 
 
@@ -59,6 +100,21 @@ public class Listener implements List.Element<Listener> {
     }
 
 
+    /// Allocate a listener in its own Arena, using the shared upcall stub. The Arena is closed by
+    /// {@link #remove()}.
+    ///
+    /// @param notify Called with the owning listener and the `void *data` parameter of the signal
+    public static Listener allocate(BiConsumer<Listener, MemorySegment> notify) {
+        var arena = Arena.ofConfined();
+        var listener = new Listener(wl_listener.allocate(arena), arena, notify);
+        wl_listener.notify(listener.listenerPtr, sharedNotifyPtr);
+        dispatchTable.put(listener.listenerPtr.address(), listener);
+        return listener;
+    }
+
+
+    /// Allocate a listener with its own upcall stub, in an Arena managed by the caller. Calling
+    /// {@link #remove()} on it will not free any memory.
     public static Listener allocate(Arena arena, wl_notify_func_t.Function notify) {
         var listenerPtr = wl_listener.allocate(arena);
         var notifyFunctionPtr = wl_notify_func_t.allocate(notify, arena);
@@ -73,4 +129,54 @@ public class Listener implements List.Element<Listener> {
         assert linkPtr.equals(listenerPtr);
         return linkPtr;
     }
-}
\ No newline at end of file
+
+
+    /// Remove the listener from the signal's list and free its native memory (if this listener owns it).
+    /// Removing a listener twice is a no-op.
+    @Override
+    public void remove() {
+        if (arena == null) {
+            // The caller's memory, may have been added again since the last removal: go by the link itself,
+            // this wrapper may not even be the one that was removed
+            if (!isRemoved()) List.Element.super.remove();
+            return;
+        }
+
+        if (removed) return;
+        List.Element.super.remove();
+        removed = true;
+
+        var dispatchListener = dispatchTable.remove(listenerPtr.address());
+        assert dispatchListener == this;
+        arena.close();
+    }
+
+
+    /// @return True if the listener isn't in a list: removed, or never added (for listeners in memory managed
+    ///     by the caller)
+    public boolean isRemoved() {
+        if (arena != null) return removed;
+        // wl_list_remove() leaves NULL links, as does a freshly allocated (zeroed) listener
+        return ListOps.next(getLinkMemberPtr().address()) == 0;
+    }
+
+
+    /// True once a self-owned listener has closed its Arena. Used for leak checking.
+    boolean isMemoryFreed() {
+        return arena != null && !arena.scope().isAlive();
+    }
+
+
+    /// Number of self-owned listeners whose native memory hasn't been freed yet. Used for leak checking.
+    public static long liveCount() {
+        return dispatchTable.size();
+    }
+
+
+    /// Target of the shared upcall stub.
+    private static void dispatch(MemorySegment listenerPtr, MemorySegment dataPtr) {
+        var listener = dispatchTable.get(listenerPtr.address());
+        assert listener != null && listener.notify != null : "Listener not registered: " + listenerPtr;
+        listener.notify.accept(listener, dataPtr);
+    }
+}
@@ -0,0 +1,44 @@
+package wayland.server;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.ArrayList;
+
+
+/// Owns the listeners registered by one compositor object (window, keyboard, output...), so they can all be
+/// removed and freed together, usually from the object's `destroy` signal handler.
+///
+/// Convenience class, does not exist in C code.
+@NullMarked
+public final class ListenerGroup implements AutoCloseable {
+    private final ArrayList<Listener> listeners = new ArrayList<>();
+
+
+    /// Take ownership of the `listener`.
+    ///
+    /// @return The same listener, so it can be stored somewhere else too.
+    public Listener add(Listener listener) {
+        listeners.add(listener);
+        return listener;
+    }
+
+
+    public void addAll(Listener... listeners) {
+        for (var listener : listeners)
+            add(listener);
+    }
+
+
+    public int size() {
+        return listeners.size();
+    }
+
+
+    /// Remove all the listeners from their signals and free their memory. The group can be reused afterward.
+    @Override
+    public void close() {
+        for (var listener : listeners)
+            listener.remove();
+        listeners.clear();
+    }
+}
@@ -2,9 +2,9 @@ package wayland.server;
 
 import jextract.wayland.wl_signal;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import wayland.util.List;
 
-import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -29,10 +29,13 @@ import static java.lang.foreign.MemorySegment.NULL;
 public abstract sealed class Signal {
     public final MemorySegment signalPtr;
     public final List<Listener> listenerList;
+    /// Which signal this is, e.g. `wlr_surface.events.commit`, for diagnostics like {@link SignalStats}.
+    public final @Nullable String name;
 
 
-    public Signal(MemorySegment signalPtr) {
+    public Signal(MemorySegment signalPtr, @Nullable String name) {
         this.signalPtr = signalPtr;
+        this.name = name;
         this.listenerList = new List<>(wl_signal.listener_list(signalPtr), Listener.listElementMeta);
         assert !signalPtr.equals(NULL);
         assert signalPtr.equals(listenerList.listPtr);
@@ -40,12 +43,34 @@ public abstract sealed class Signal {
 
 
     public static Signal0 of(MemorySegment signalPtr) {
-        return new Signal0(signalPtr);
+        return new Signal0(signalPtr, null);
+    }
+
+
+    /// @param name Which signal this is, e.g. `wlr_surface.events.map`
+    public static Signal0 of(MemorySegment signalPtr, String name) {
+        return new Signal0(signalPtr, name);
     }
 
 
     public static <T> Signal1<T> of(MemorySegment signalPtr, Function<MemorySegment, T> function) {
-        return new Signal1<>(signalPtr, function);
+        return new Signal1<>(signalPtr, function, null);
+    }
+
+
+    /// @param name Which signal this is, e.g. `wlr_surface.events.commit`
+    public static <T> Signal1<T> of(MemorySegment signalPtr, Function<MemorySegment, T> function, String name) {
+        return new Signal1<>(signalPtr, function, name);
+    }
+
+
+    /// Allocate a listener for `notify` and add it to this signal, timed by {@link SignalStats} if enabled.
+    ///
+    /// @param callback The callback of the caller, that `notify` wraps. Identifies the handler in the stats.
+    protected Listener addListener(Object callback, BiConsumer<Listener, MemorySegment> notify) {
+        var listener = Listener.allocate(SignalStats.instrument(this, callback, notify));
+        listenerList.append(listener);
+        return listener;
     }
 
 
@@ -54,7 +79,7 @@ public abstract sealed class Signal {
     /// Convenience function, does not exist in C code.
     public void remove(Listener listener) {
         // TODO: (debug) Assert that listener is present in listenerList
-        listenerList.remove(listener);
+        listener.remove();
     }
 
 
@@ -63,38 +88,26 @@ public abstract sealed class Signal {
     /// Listener function takes no parameters.
     public static final class Signal0 extends Signal {
 
-        Signal0(MemorySegment signalPtr) {
-            super(signalPtr);
+        Signal0(MemorySegment signalPtr, @Nullable String name) {
+            super(signalPtr, name);
         }
 
 
         /// Listener that takes no parameters
         public Listener add(Runnable callback) {
-            // TODO: Memory ownership - can't be auto or confined/scope
-            var listener = Listener.allocate(
-                Arena.global(),
-                (MemorySegment listenerPtr, MemorySegment dataPtr) -> {
-                    assert !listenerPtr.equals(NULL);
-                    assert dataPtr.equals(NULL) : "Parameter (void *data) to listener must be NULL";
-                    callback.run();
-                });
-            listenerList.append(listener);
-            return listener;
+            return addListener(callback, (Listener _, MemorySegment dataPtr) -> {
+                assert dataPtr.equals(NULL) : "Parameter (void *data) to listener must be NULL";
+                callback.run();
+            });
         }
 
 
         // Listener callback takes one parameter: wl_listener
         public Listener add(Consumer<Listener> callback) {
-            // TODO: Memory ownership
-            var listener = Listener.allocate(
-                Arena.global(),
-                (MemorySegment listenerPtr, MemorySegment dataPtr) -> {
-                    assert !listenerPtr.equals(NULL);
-                    assert dataPtr.equals(NULL) : "Parameter (void *data) to listener must be NULL";
-                    callback.accept(new Listener(listenerPtr));
-                });
-            listenerList.append(listener);
-            return listener;
+            return addListener(callback, (Listener self, MemorySegment dataPtr) -> {
+                assert dataPtr.equals(NULL) : "Parameter (void *data) to listener must be NULL";
+                callback.accept(self);
+            });
         }
     }
 
@@ -106,8 +119,8 @@ public abstract sealed class Signal {
         public final Function<MemorySegment, T> observerParameterCtor;
 
 
-        Signal1(MemorySegment signalPtr, Function<MemorySegment, T> function) {
-            super(signalPtr);
+        Signal1(MemorySegment signalPtr, Function<MemorySegment, T> function, @Nullable String name) {
+            super(signalPtr, name);
             this.observerParameterCtor = function;
         }
 
@@ -115,31 +128,47 @@ public abstract sealed class Signal {
 
         /// Listener callback takes one parameter: void *data
         public Listener add(Consumer<T> observer) {
-            // TODO: Memory ownership - can't be auto or confined/scope
-            var listener = Listener.allocate(
-                Arena.global(),
-                (MemorySegment listenerPtr, MemorySegment dataPtr) -> {
-                    assert !listenerPtr.equals(NULL);
-                    assert !dataPtr.equals(NULL) : "Parameter (void *data) to listener must not be NULL";
-                    observer.accept(observerParameterCtor.apply(dataPtr));
-                });
-            listenerList.append(listener);
-            return listener;
+            return addListener(observer, (Listener _, MemorySegment dataPtr) -> {
+                assert !dataPtr.equals(NULL) : "Parameter (void *data) to listener must not be NULL";
+                observer.accept(observerParameterCtor.apply(dataPtr));
+            });
+        }
+
+
+        /// Flyweight variant of {@link #add(Consumer)}: the view is created by `viewFactory` on the first
+        /// emission, then rebound to the new `void *data` on every following one, so there is no allocation per
+        /// emission. Meant for high-rate events like pointer motion.
+        ///
+        /// The view passed to `observer` is only valid during the callback, don't keep references to it.
+        ///
+        /// @param viewFactory Usually the `View` constructor of the event wrapper, e.g.
+        ///     `PointerMotionEvent.View::new`
+        public <F extends Flyweight> Listener addFlyweight(
+            Function<MemorySegment, F> viewFactory, Consumer<F> observer
+        ) {
+            var flyweight = new Object() {
+                @Nullable F view = null;
+            };
+            return addListener(observer, (Listener _, MemorySegment dataPtr) -> {
+                assert !dataPtr.equals(NULL) : "Parameter (void *data) to listener must not be NULL";
+                var view = flyweight.view;
+                if (view == null) {
+                    view = viewFactory.apply(dataPtr);
+                    flyweight.view = view;
+                } else {
+                    view.rebind(dataPtr);
+                }
+                observer.accept(view);
+            });
         }
 
 
         /// Listener callback takes two parameters: *wl_listener, void *data
         public Listener add(BiConsumer<Listener, T> callback) {
-            // TODO: Memory ownership - can't be auto or confined/scope
-            var listener = Listener.allocate(
-                Arena.global(),
-                (MemorySegment listenerPtr, MemorySegment dataPtr) -> {
-                    assert !listenerPtr.equals(NULL);
-                    assert !dataPtr.equals(NULL) : "Parameter (void *data) to listener must not be NULL";
-                    callback.accept(new Listener(listenerPtr), observerParameterCtor.apply(dataPtr));
-                });
-            listenerList.append(listener);
-            return listener;
+            return addListener(callback, (Listener self, MemorySegment dataPtr) -> {
+                assert !dataPtr.equals(NULL) : "Parameter (void *data) to listener must not be NULL";
+                callback.accept(self, observerParameterCtor.apply(dataPtr));
+            });
         }
     }
-}
\ No newline at end of file
+}
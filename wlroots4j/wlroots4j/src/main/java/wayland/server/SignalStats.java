@@ -0,0 +1,120 @@
+package wayland.server;
+
+import nylon.LatencyHistogram;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+
+/// Optional instrumentation of signal listeners: measures how long every callback takes, to find handlers
+/// that stall the event loop.
+///
+/// When enabled, listeners added to a {@link Signal} afterward have their callback wrapped with timing. The
+/// label of a listener is its call site (first stack frame outside of `wayland.server`), plus the
+/// {@link Signal#name}, plus the class of the callback. Listeners with the same label share one
+/// {@link LatencyHistogram}, e.g. the `commit` listeners of all windows.
+///
+/// Listeners added while disabled are never timed, so enable this before creating the compositor objects, or
+/// start the JVM with `-Dwlroots4j.signalStats=true`.
+///
+/// Convenience class, does not exist in libwayland. Use only from the event loop thread.
+@NullMarked
+public final class SignalStats {
+    private static boolean enabled = Boolean.getBoolean("wlroots4j.signalStats");
+    private static final Map<String, LatencyHistogram> histograms = new HashMap<>();
+
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+
+
+    private SignalStats() {
+    }
+
+
+    public static void enable() {
+        enabled = true;
+    }
+
+
+    public static void disable() {
+        enabled = false;
+    }
+
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+
+    /// Clear all recorded timings, keeps timing the listeners.
+    public static void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+
+    /// Called by {@link Signal} when adding a listener: wraps `notify` with timing if enabled.
+    ///
+    /// @param callback The callback of the caller wrapped by `notify`, identifies the handler
+    static BiConsumer<Listener, MemorySegment> instrument(Signal signal,
+                                                          Object callback,
+                                                          BiConsumer<Listener, MemorySegment> notify) {
+        if (!enabled) return notify;
+
+        var signalName = signal.name != null ? signal.name : signal.getClass().getSimpleName();
+        var label = "%s [%s] %s".formatted(registrationSite(), signalName, callback.getClass().getName());
+        var histogram = histograms.computeIfAbsent(label, _ -> new LatencyHistogram());
+        return (listener, dataPtr) -> {
+            var start = System.nanoTime();
+            try {
+                notify.accept(listener, dataPtr);
+            } finally {
+                histogram.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+
+    /// @return Labels and histograms of all timed handlers, slowest (by maximum duration) first
+    public static List<Map.Entry<String, LatencyHistogram>> slowest(int limit) {
+        var entries = new ArrayList<>(histograms.entrySet());
+        entries.removeIf(entry -> entry.getValue().count() == 0);
+        entries.sort(Comparator.comparingLong(
+            (Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().max()).reversed());
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+
+    /// Human-readable report of the `limit` slowest handlers, times in microseconds.
+    public static String report(int limit) {
+        var report = new StringBuilder("Slowest signal handlers (µs):\n");
+        for (var entry : slowest(limit)) {
+            var histogram = entry.getValue();
+            report.append("  max=%.1f p99=%.1f p50=%.1f mean=%.1f calls=%d total=%.1f  %s\n".formatted(
+                histogram.max() / 1000.0,
+                histogram.percentile(99) / 1000.0,
+                histogram.percentile(50) / 1000.0,
+                histogram.mean() / 1000.0,
+                histogram.count(),
+                histogram.sum() / 1000.0,
+                entry.getKey()));
+        }
+        return report.toString();
+    }
+
+
+    private static String registrationSite() {
+        @Nullable StackWalker.StackFrame frame = stackWalker.walk(frames -> frames
+            .filter(f -> !f.getClassName().startsWith("wayland.server."))
+            .findFirst()
+            .orElse(null));
+        if (frame == null) return "<unknown>";
+        return "%s.%s(%s:%d)".formatted(
+            frame.getClassName(), frame.getMethodName(), frame.getFileName(), frame.getLineNumber());
+    }
+}
@@ -0,0 +1,137 @@
+package wayland.server;
+
+import jextract.libc.libc;
+import nylon.ScratchAllocator;
+import org.jspecify.annotations.NullMarked;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.ValueLayout;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static jextract.libc.libc.*;
+
+
+/// Runs tasks submitted from any thread on the event loop thread.
+///
+/// Everything touching Wayland or wlroots objects must run on the event loop thread. Background threads (GTK,
+/// workers, virtual threads doing blocking I/O) hand their results over with {@link #execute(Runnable)}:
+///
+/// ```java
+/// CompletableFuture
+///     .supplyAsync(this::loadSomething, virtualThreadExecutor)
+///     .thenAcceptAsync(this::applyToScene, taskQueue);
+/// ```
+///
+/// Tasks go into a lock-free queue, and the loop is woken up through an `eventfd` registered as an fd event
+/// source. Only the first task submitted after the queue was drained writes to the `eventfd`, the others just
+/// get queued. No locks, no polling timers.
+///
+/// # Closing
+///
+/// {@link #close()} rejects new submissions, then waits for the {@link #execute(Runnable)} calls already past
+/// that check to finish before closing the `eventfd`, so a late writer never hits a closed (or reused) fd.
+/// Submissions after close throw {@link RejectedExecutionException}. Tasks queued but not run yet when the
+/// queue is closed are dropped, they never run.
+///
+/// Convenience class, does not exist in libwayland. Create and close it on the event loop thread.
+@NullMarked
+public final class TaskQueue implements Executor, AutoCloseable {
+    /// Set in {@link #state} once closed.
+    private static final int CLOSED = 1 << 31;
+
+    private final Arena arena = Arena.ofShared();
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean(false);
+    private final int eventFd;
+    private final EventSource eventSource;
+
+    /// {@link #CLOSED} bit, plus the number of {@link #execute(Runnable)} calls in progress.
+    private final AtomicInteger state = new AtomicInteger(0);
+
+
+    private TaskQueue(EventLoop eventLoop) {
+        eventFd = eventfd(0, EFD_CLOEXEC() | EFD_NONBLOCK());
+        if (eventFd < 0) {
+            arena.close();
+            throw new IllegalStateException("Failed to create eventfd for the task queue");
+        }
+        eventSource = eventLoop.addFd(arena, eventFd, EventLoop.READABLE, this::onReadable);
+    }
+
+
+    public static TaskQueue create(EventLoop eventLoop) {
+        return new TaskQueue(eventLoop);
+    }
+
+
+    /// Queue `task` to run on the event loop thread. Safe to call from any thread, including the event loop
+    /// thread itself: the task then runs after the current callback returns, never from within this call.
+    ///
+    /// @throws RejectedExecutionException if the queue is closed
+    @Override
+    public void execute(Runnable task) {
+        if ((state.getAndIncrement() & CLOSED) != 0) {
+            state.getAndDecrement();
+            throw new RejectedExecutionException("TaskQueue is closed");
+        }
+        try {
+            tasks.add(task);
+            if (wakeupPending.compareAndSet(false, true)) {
+                try (var scratch = ScratchAllocator.acquire()) {
+                    var one = scratch.allocateFrom(ValueLayout.JAVA_LONG, 1L);
+                    write(eventFd, one, 8);
+                }
+            }
+        } finally {
+            state.getAndDecrement();
+        }
+    }
+
+
+    /// Number of tasks waiting to run.
+    public int pending() {
+        return tasks.size();
+    }
+
+
+    /// Remove the event source and close the `eventfd`. Tasks still in the queue are dropped, later submissions
+    /// are rejected.
+    @Override
+    public void close() {
+        if ((state.getAndUpdate(s -> s | CLOSED) & CLOSED) != 0) return;
+        // Wait for submissions in progress, they only enqueue and write to the eventfd
+        while (state.get() != CLOSED) {
+            Thread.onSpinWait();
+        }
+        eventSource.remove();
+        libc.close(eventFd);
+        tasks.clear();
+        arena.close();
+    }
+
+
+    private int onReadable(int fd, int mask) {
+        // Reset the eventfd counter first, then allow new wakeups, then drain: a task added at any point
+        // either gets drained below or writes a new wakeup.
+        try (var scratch = ScratchAllocator.acquire()) {
+            read(fd, scratch.allocate(ValueLayout.JAVA_LONG), 8);
+        }
+        wakeupPending.set(false);
+
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // Exceptions must not propagate into native code from the upcall
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+        return 0;
+    }
+}
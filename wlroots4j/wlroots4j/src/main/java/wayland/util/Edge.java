@@ -1,5 +1,7 @@
 package wayland.util;
 
+import nylon.EnumTable;
+import nylon.NativeEnum;
 import org.jspecify.annotations.NullMarked;
 
 import java.util.EnumSet;
@@ -9,7 +11,7 @@ import static jextract.wlroots.wlr.*;
 
 /// `enum wlr_edges`
 @NullMarked
-public enum Edge {
+public enum Edge implements NativeEnum {
     None(WLR_EDGE_NONE()),
     Top(WLR_EDGE_TOP()),
     Bottom(WLR_EDGE_BOTTOM()),
@@ -18,25 +20,24 @@ public enum Edge {
 
     public final int value;
 
+    static final EnumTable<Edge> table = EnumTable.of(Edge.class, "wlr_edges");
+
 
     Edge(int value) {
         this.value = value;
     }
 
 
+    @Override
+    public int value() {
+        return value;
+    }
+
+
     /// Create an EnumSet of Edges from the C bitmask
     public static EnumSet<Edge> fromBitset(int bitset) {
         // TODO: What if WLR_EDGE_NONE gets passed in, and when does that happen?
         assert bitset >= 0;
-
-        var edges = EnumSet.noneOf(Edge.class);
-
-        if ((WLR_EDGE_NONE()   & bitset) != 0) edges.add(None);
-        if ((WLR_EDGE_TOP()    & bitset) != 0) edges.add(Top);
-        if ((WLR_EDGE_BOTTOM() & bitset) != 0) edges.add(Bottom);
-        if ((WLR_EDGE_LEFT()   & bitset) != 0) edges.add(Left);
-        if ((WLR_EDGE_RIGHT()  & bitset) != 0) edges.add(Right);
-
-        return edges;
+        return table.fromBitset(bitset);
     }
 }
\ No newline at end of file
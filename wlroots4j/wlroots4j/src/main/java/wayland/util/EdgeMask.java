@@ -0,0 +1,61 @@
+package wayland.util;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+
+/// Set of {@link Edge}s as the C bitmask (`uint32_t` of `enum wlr_edges` bits), e.g. the edges of an interactive
+/// resize. Testing an edge is a bit test, with no `EnumSet` to build per event.
+///
+/// {@link Edge#None} is the empty mask, and is never contained in a mask.
+@NullMarked
+public record EdgeMask(int value) {
+    public static final EdgeMask NONE = new EdgeMask(0);
+
+
+    public static EdgeMask of(Edge... edges) {
+        int value = 0;
+        for (var edge : edges)
+            value |= edge.value;
+        return new EdgeMask(value);
+    }
+
+
+    public boolean contains(Edge edge) {
+        return (value & edge.value) != 0;
+    }
+
+
+    public boolean isEmpty() {
+        return value == 0;
+    }
+
+
+    public EdgeMask with(Edge edge) {
+        return new EdgeMask(value | edge.value);
+    }
+
+
+    public EdgeMask without(Edge edge) {
+        return new EdgeMask(value & ~edge.value);
+    }
+
+
+    /// Read-only `Set` view, for APIs taking collections.
+    public Set<Edge> asSet() {
+        return Edge.table.asSet(value);
+    }
+
+
+    public EnumSet<Edge> toEnumSet() {
+        return Edge.fromBitset(value);
+    }
+
+
+    @Override
+    public String toString() {
+        return "EdgeMask" + asSet();
+    }
+}
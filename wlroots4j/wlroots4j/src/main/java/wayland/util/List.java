@@ -7,16 +7,34 @@ import org.jspecify.annotations.Nullable;
 import java.lang.foreign.Arena;
 import java.lang.foreign.GroupLayout;
 import java.lang.foreign.MemorySegment;
-import java.lang.reflect.InvocationTargetException;
-
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.lang.foreign.MemoryLayout.PathElement.groupElement;
 import static jextract.wayland.wl.*;
 import static wayland.util.Utils.containerOf;
 
 
-public final class List<T extends List.Element<@NonNull T>> {
+public final class List<T extends List.Element<@NonNull T>> implements Iterable<@NonNull T> {
     public final @NonNull MemorySegment listPtr;
     public final @NonNull ElementMetadata<T> meta;
 
+    /// Use the libwayland functions instead of {@link ListOps} for the list primitives, e.g. to rule out a
+    /// bug in them: start the JVM with `-Dwlroots4j.nativeListOps=true`.
+    static final boolean NATIVE_OPS = Boolean.getBoolean("wlroots4j.nativeListOps");
+
+    /// Offset of the link member in the element struct, computed on first iteration.
+    private long linkOffset = -1;
+
 
     public List(@NonNull MemorySegment listPtr, List.@NonNull ElementMetadata<T> meta) {
         this.listPtr = listPtr;
@@ -46,7 +64,11 @@ public final class List<T extends List.Element<@NonNull T>> {
 
     /// Initializes the list.
     public void init() {
-        wl_list_init(listPtr);
+        if (NATIVE_OPS) {
+            wl_list_init(listPtr);
+        } else {
+            ListOps.init(listPtr.address());
+        }
     }
 
 
@@ -55,6 +77,8 @@ public final class List<T extends List.Element<@NonNull T>> {
 
     /// Determines if the list is empty.
     public boolean empty() {
+        if (!NATIVE_OPS) return ListOps.empty(listPtr.address());
+
         return switch (wl_list_empty(listPtr)) {
             case 0 -> false;
             case 1 -> true;
@@ -65,7 +89,7 @@ public final class List<T extends List.Element<@NonNull T>> {
 
     /// Insert `element` after `after` element.
     public void insert(@NonNull T after, @NonNull T element) {
-        wl_list_insert(after.getLinkMemberPtr(), element.getLinkMemberPtr());
+        insertLink(after.getLinkMemberPtr(), element.getLinkMemberPtr());
     }
 
 
@@ -73,13 +97,13 @@ public final class List<T extends List.Element<@NonNull T>> {
     public void remove(@NonNull T element) {
         // TODO: Check if element previously removed (.prev.next==null)
         // TODO: Maybe delegate to List.Element#remove()
-        wl_list_remove(element.getLinkMemberPtr());
+        removeLink(element.getLinkMemberPtr());
     }
 
 
     /// Determines the length of the list.
     public int length() {
-        return wl_list_length(listPtr);
+        return NATIVE_OPS ? wl_list_length(listPtr) : ListOps.length(listPtr.address());
     }
 
 
@@ -112,29 +136,202 @@ public final class List<T extends List.Element<@NonNull T>> {
 
     ///  Add `element` to the end of the list.
     public void append(@NonNull T element) {
-        // TODO: Is it necessary to getLast() and create an instance just to get its pointer?
-        //       Why not just use prev() and get the pointer directly? This way
-        var lastElement = getLast();
-        if (lastElement != null) {
-            wl_list_insert(lastElement.getLinkMemberPtr(), element.getLinkMemberPtr());
+        // Insert after the last element's link, which is the list head itself when the list is empty
+        insertLink(prev(), element.getLinkMemberPtr());
+    }
+
+
+    private @NonNull T constructElement(@NonNull MemorySegment elementPtr) {
+        return meta.constructor.apply(elementPtr);
+    }
+
+
+    // *** Iteration ************************************************************************************** //
+
+
+    /// Iterate from the first to the last element, like `wl_list_for_each()`. The current element must not be
+    /// removed during iteration, use {@link #safe()} for that.
+    @Override
+    public @NonNull Iterator<@NonNull T> iterator() {
+        return new ElementIterator(false, false);
+    }
+
+
+    /// Iterate from the last to the first element, like `wl_list_for_each_reverse()`.
+    public @NonNull Iterable<@NonNull T> reversed() {
+        return () -> new ElementIterator(true, false);
+    }
+
+
+    /// Iterate from the first to the last element, allowing the current element to be removed, like
+    /// `wl_list_for_each_safe()`. Removing other elements during iteration is still not allowed.
+    public @NonNull Iterable<@NonNull T> safe() {
+        return () -> new ElementIterator(false, true);
+    }
+
+
+    /// Same as {@link #safe()}, from the last to the first element.
+    public @NonNull Iterable<@NonNull T> safeReversed() {
+        return () -> new ElementIterator(true, true);
+    }
+
+
+    @Override
+    public @NonNull Spliterator<@NonNull T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+
+    public @NonNull Stream<@NonNull T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+
+    /// Reusable cursor over the element addresses: iterating with it doesn't allocate. Call
+    /// {@link Cursor#reset()} before each traversal.
+    public @NonNull Cursor cursor() {
+        return new Cursor();
+    }
+
+
+    /// Allocation-free traversal, yields element addresses instead of wrappers. Tolerates removal of the
+    /// current element, like {@link #safe()}.
+    ///
+    /// ```java
+    /// for (cursor.reset(); cursor.next(); ) {
+    ///     var elementAddress = cursor.elementAddress();
+    /// }
+    /// ```
+    public final class Cursor {
+        private boolean reverse = false;
+        private long linkAddress;
+        private long nextLinkAddress;
+
+
+        private Cursor() {
+            reset();
+        }
+
+
+        /// Start over from the first element.
+        public @NonNull Cursor reset() {
+            return reset(false);
+        }
+
+
+        /// Start over from the last element, going backward.
+        public @NonNull Cursor resetReversed() {
+            return reset(true);
+        }
+
+
+        private @NonNull Cursor reset(boolean reverse) {
+            this.reverse = reverse;
+            linkAddress = listPtr.address();
+            nextLinkAddress = follow(linkAddress, reverse);
+            return this;
+        }
+
+
+        /// Move to the next element.
+        ///
+        /// @return False when past the last element
+        public boolean next() {
+            if (nextLinkAddress == listPtr.address()) return false;
+            linkAddress = nextLinkAddress;
+            nextLinkAddress = follow(linkAddress, reverse);
+            return true;
+        }
+
+
+        /// Address of the current element struct (not of its link).
+        public long elementAddress() {
+            return linkAddress - linkOffset();
+        }
+
+
+        /// The current element. Allocates the wrapper.
+        public @NonNull T element() {
+            return constructElement(elementAt(linkAddress));
+        }
+    }
+
+
+    private final class ElementIterator implements Iterator<@NonNull T> {
+        private final boolean reverse;
+        private final boolean safe;
+        /// Link of the element returned last, the list head at first.
+        private long linkAddress = listPtr.address();
+        /// With `safe`, the link following `linkAddress`, read before the element is returned.
+        private long nextLinkAddress;
+
+
+        ElementIterator(boolean reverse, boolean safe) {
+            this.reverse = reverse;
+            this.safe = safe;
+            if (safe) nextLinkAddress = follow(linkAddress, reverse);
+        }
+
+
+        @Override
+        public boolean hasNext() {
+            return nextLink() != listPtr.address();
+        }
+
+
+        @Override
+        public @NonNull T next() {
+            var link = nextLink();
+            if (link == listPtr.address()) throw new NoSuchElementException();
+            if (link == 0) throw new ConcurrentModificationException("Element removed during iteration, use safe()");
+            linkAddress = link;
+            if (safe) nextLinkAddress = follow(linkAddress, reverse);
+            return constructElement(elementAt(linkAddress));
+        }
+
+
+        private long nextLink() {
+            return safe ? nextLinkAddress : follow(linkAddress, reverse);
+        }
+    }
+
+
+    /// Read `link->next` (or `link->prev`).
+    private static long follow(long linkAddress, boolean reverse) {
+        assert linkAddress != 0 : "Following a removed wl_list link";
+        return reverse ? ListOps.prev(linkAddress) : ListOps.next(linkAddress);
+    }
+
+
+    private static void insertLink(@NonNull MemorySegment linkPtr, @NonNull MemorySegment elementLinkPtr) {
+        if (NATIVE_OPS) {
+            wl_list_insert(linkPtr, elementLinkPtr);
         } else {
-            // List is empty, add to list head itself
-            wl_list_insert(listPtr, element.getLinkMemberPtr());
+            ListOps.insert(linkPtr.address(), elementLinkPtr.address());
         }
     }
 
 
-    private @NonNull T constructElement(@NonNull MemorySegment elementPtr) {
-        try {
-            var element = meta.elementClass.getConstructor(MemorySegment.class).newInstance(elementPtr);
-            return element;
-        } catch (NoSuchMethodException | InvocationTargetException | InstantiationException |
-                 IllegalAccessException e) {
-            throw new RuntimeException("Probable private constructor", e);
+    private static void removeLink(@NonNull MemorySegment elementLinkPtr) {
+        if (NATIVE_OPS) {
+            wl_list_remove(elementLinkPtr);
+        } else {
+            ListOps.remove(elementLinkPtr.address());
         }
     }
 
 
+    private long linkOffset() {
+        if (linkOffset < 0) linkOffset = meta.layout.byteOffset(groupElement(meta.linkMemberName));
+        return linkOffset;
+    }
+
+
+    private @NonNull MemorySegment elementAt(long linkAddress) {
+        return MemorySegment.ofAddress(linkAddress - linkOffset()).reinterpret(meta.layout.byteSize());
+    }
+
+
     public interface Element<T extends Element<T>> {
         MemorySegment getLinkMemberPtr();
 
@@ -149,14 +346,39 @@ public final class List<T extends List.Element<@NonNull T>> {
         /// Remove this element from the list.
         default void remove() {
             // TODO: Check if element previously removed
-            wl_list_remove(getLinkMemberPtr());
+            removeLink(getLinkMemberPtr());
         }
     }
 
+    /// @param constructor Creates the wrapper of an element from the pointer to the element struct
     public record ElementMetadata<T extends List.Element<@NonNull T>>(
         @NonNull Class<T> elementClass,
         @NonNull GroupLayout layout,
-        @NonNull String linkMemberName
+        @NonNull String linkMemberName,
+        @NonNull Function<@NonNull MemorySegment, @NonNull T> constructor
     ) {
+        /// Metadata for an element class with a public `(MemorySegment)` constructor. The constructor is
+        /// looked up once, prefer passing a constructor reference (e.g. `Listener::new`) though.
+        public ElementMetadata(@NonNull Class<T> elementClass, @NonNull GroupLayout layout, @NonNull String linkMemberName) {
+            this(elementClass, layout, linkMemberName, constructorOf(elementClass));
+        }
+
+
+        private static <T> @NonNull Function<@NonNull MemorySegment, @NonNull T> constructorOf(Class<T> elementClass) {
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.publicLookup()
+                    .findConstructor(elementClass, MethodType.methodType(void.class, MemorySegment.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalArgumentException("Probable private constructor", e);
+            }
+            return elementPtr -> {
+                try {
+                    return elementClass.cast(handle.invoke(elementPtr));
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            };
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package wayland.util;
+
+import jextract.wayland.wl_list;
+import org.jspecify.annotations.NullMarked;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+
+/// The `wl_list` primitives of libwayland (`wayland-util.c`) in Java, operating on link addresses. They are a
+/// few pointer reads and writes each, cheaper to do here than to pay for a downcall.
+///
+/// Same semantics as libwayland, including leaving removed links with NULL `prev` and `next`. Lists touched
+/// by these are fully compatible with the native functions, both can be mixed freely.
+@NullMarked
+public final class ListOps {
+    /// All the memory: links are read and written by address, without creating a segment per link.
+    private static final MemorySegment EVERYTHING = MemorySegment.NULL.reinterpret(Long.MAX_VALUE);
+    private static final long PREV = wl_list.prev$offset();
+    private static final long NEXT = wl_list.next$offset();
+
+
+    private ListOps() {
+    }
+
+
+    /// `link->prev`
+    public static long prev(long link) {
+        return EVERYTHING.get(ValueLayout.JAVA_LONG, link + PREV);
+    }
+
+
+    /// `link->next`
+    public static long next(long link) {
+        return EVERYTHING.get(ValueLayout.JAVA_LONG, link + NEXT);
+    }
+
+
+    private static void setPrev(long link, long prev) {
+        EVERYTHING.set(ValueLayout.JAVA_LONG, link + PREV, prev);
+    }
+
+
+    private static void setNext(long link, long next) {
+        EVERYTHING.set(ValueLayout.JAVA_LONG, link + NEXT, next);
+    }
+
+
+    /// `wl_list_init()`
+    public static void init(long list) {
+        setPrev(list, list);
+        setNext(list, list);
+    }
+
+
+    /// `wl_list_insert()`: insert `element` after `list` (the head or any element link).
+    public static void insert(long list, long element) {
+        var next = next(list);
+        setPrev(element, list);
+        setNext(element, next);
+        setNext(list, element);
+        setPrev(next, element);
+    }
+
+
+    /// `wl_list_remove()`
+    public static void remove(long element) {
+        var prev = prev(element);
+        var next = next(element);
+        setNext(prev, next);
+        setPrev(next, prev);
+        setNext(element, 0);
+        setPrev(element, 0);
+    }
+
+
+    /// `wl_list_length()`
+    public static int length(long list) {
+        int count = 0;
+        for (var link = next(list); link != list; link = next(link)) {
+            count++;
+        }
+        return count;
+    }
+
+
+    /// `wl_list_empty()`
+    public static boolean empty(long list) {
+        return next(list) == list;
+    }
+
+
+    /// `wl_list_insert_list()`: insert all elements of `other` after `list`. `other` is left in an invalid
+    /// state, like with libwayland.
+    public static void insertList(long list, long other) {
+        if (empty(other)) return;
+
+        var otherFirst = next(other);
+        var otherLast = prev(other);
+        var next = next(list);
+        setPrev(otherFirst, list);
+        setNext(otherLast, next);
+        setPrev(next, otherLast);
+        setNext(list, otherFirst);
+    }
+}
@@ -12,6 +12,7 @@ import wlroots.types.output.Output;
 import java.lang.foreign.MemorySegment;
 
 import static java.lang.foreign.MemorySegment.NULL;
+import static jextract.wayland.wl.wl_signal_emit_mutable;
 import static jextract.wlroots.wlr.*;
 
 
@@ -57,6 +58,19 @@ public final class Backend {
         return !backendPtr.equals(NULL) ? new Backend(backendPtr) : null;
     }
 
+    /// Creates a headless backend. A headless backend has no outputs or inputs by default, outputs can be
+    /// added with {@link #headlessAddOutput(int, int)}. Needs no GPU nor seat, for tests and benchmarks (use
+    /// it with the Pixman renderer, `WLR_RENDERER=pixman`).
+    ///
+    /// ```c
+    /// struct wlr_backend *wlr_headless_backend_create(struct wl_event_loop *loop);
+    /// ```
+    public static @Nullable Backend createHeadless(EventLoop eventLoop) {
+        var backendPtr = wlr_headless_backend_create(eventLoop.eventLoopPtr);
+        return !backendPtr.equals(NULL) ? new Backend(backendPtr) : null;
+    }
+
+
     //
     // *** Methods ***
     //
@@ -71,6 +85,27 @@ public final class Backend {
     }
 
 
+    /// Create a new headless output. The buffers allocated for the output are not displayed anywhere. Only
+    /// valid for backends created with {@link #createHeadless(EventLoop)}. The output is announced with the
+    /// {@link Events#newOutput} signal, also when the backend is already started.
+    public Output headlessAddOutput(int width, int height) {
+        assert isHeadless();
+        return new Output(wlr_headless_add_output(backendPtr, width, height));
+    }
+
+
+    public boolean isHeadless() {
+        return wlr_backend_is_headless(backendPtr);
+    }
+
+
+    /// Announce an input device that wasn't created by this backend, like a
+    /// {@link wlroots.types.pointer.VirtualPointer}, by emitting {@link Events#newInput}.
+    public void emitNewInput(InputDevice device) {
+        wl_signal_emit_mutable(events.newInput.signalPtr, device.inputDevicePtr);
+    }
+
+
     //
     // *** Events ***
     //
@@ -88,9 +123,9 @@ public final class Backend {
 
         Events(MemorySegment eventsPtr) {
             assert !eventsPtr.equals(NULL);
-            newOutput = Signal.of(wlr_backend.events.new_output(eventsPtr), Output::new);
-            newInput  = Signal.of(wlr_backend.events.new_input(eventsPtr), inputDevicePtr -> new InputDevice(inputDevicePtr).toConcreteInputDevice());
-            destroy   = Signal.of(wlr_backend.events.destroy(eventsPtr), Backend::new);
+            newOutput = Signal.of(wlr_backend.events.new_output(eventsPtr), Output::new, "wlr_backend.events.new_output");
+            newInput  = Signal.of(wlr_backend.events.new_input(eventsPtr), inputDevicePtr -> new InputDevice(inputDevicePtr).toConcreteInputDevice(), "wlr_backend.events.new_input");
+            destroy   = Signal.of(wlr_backend.events.destroy(eventsPtr), Backend::new, "wlr_backend.events.destroy");
         }
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package wlroots.types.buffer;
 
+import nylon.EnumTable;
+import nylon.NativeEnum;
+
 import java.util.EnumSet;
 
 import static jextract.wlroots.wlr.WLR_BUFFER_DATA_PTR_ACCESS_READ;
@@ -7,7 +10,7 @@ import static jextract.wlroots.wlr.WLR_BUFFER_DATA_PTR_ACCESS_WRITE;
 
 
 /// `enum wlr_buffer_data_ptr_access_flag`
-public enum DataAccessFlag {
+public enum DataAccessFlag implements NativeEnum {
     /// The buffer contents can be read back.
     Read(WLR_BUFFER_DATA_PTR_ACCESS_READ()),
 
@@ -16,25 +19,26 @@ public enum DataAccessFlag {
 
     public final int value;
 
+    private static final EnumTable<DataAccessFlag> table = EnumTable.of(DataAccessFlag.class, "wlr_buffer_data_ptr_access_flag");
+
 
     DataAccessFlag(int value) {
         this.value = value;
     }
 
 
+    @Override
+    public int value() {
+        return value;
+    }
+
+
     public static DataAccessFlag of(int value) {
-        if (value == WLR_BUFFER_DATA_PTR_ACCESS_READ()) return Read;
-        if (value == WLR_BUFFER_DATA_PTR_ACCESS_WRITE()) return Write;
-        throw new RuntimeException("Invalid enum value from C code for wlr_buffer_data_ptr_access_flag");
+        return table.of(value);
     }
 
 
     public static EnumSet<DataAccessFlag> setFromBitmask(int flags) {
-        var flagsSet = EnumSet.noneOf(DataAccessFlag.class);
-        for (var e : values()) {
-            if ((flags & e.value) != 0)
-                flagsSet.add(e);
-        }
-        return flagsSet;
+        return table.fromBitset(flags);
     }
 }
\ No newline at end of file
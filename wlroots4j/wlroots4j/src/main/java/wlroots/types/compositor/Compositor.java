@@ -57,8 +57,8 @@ public class Compositor {
         public Events(MemorySegment eventsPtr) {
             assert !eventsPtr.equals(NULL);
             this.eventsPtr = eventsPtr;
-            this.newSurface = Signal.of(wlr_compositor.events.new_surface(eventsPtr), Surface::new);
-            this.destroy    = Signal.of(wlr_compositor.events.destroy(eventsPtr));
+            this.newSurface = Signal.of(wlr_compositor.events.new_surface(eventsPtr), Surface::ofPtr, "wlr_compositor.events.new_surface");
+            this.destroy    = Signal.of(wlr_compositor.events.destroy(eventsPtr), "wlr_compositor.events.destroy");
         }
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.jspecify.annotations.Nullable;
 import wayland.server.Signal;
 import wayland.server.Signal.Signal0;
 import wayland.server.Signal.Signal1;
+import wlroots.util.WrapperCache;
 
 import java.lang.foreign.MemorySegment;
 
@@ -14,11 +15,16 @@ import static jextract.wlroots.wlr.wlr_surface_get_root_surface;
 
 
 /// `struct wlr_surface {}`
+///
+/// Use {@link #ofPtr(MemorySegment)} to get the wrapper of a native surface: it always returns the same
+/// object for the same surface, until the surface is destroyed.
 @NullMarked
 public class Surface {
     public final MemorySegment surfacePtr;
     public final Events events;
 
+    private static final WrapperCache<Surface> cache = new WrapperCache<>("wlroots4j-surface");
+
 
     public Surface(MemorySegment surfacePtr) {
         assert !surfacePtr.equals(NULL);
@@ -45,12 +51,12 @@ public class Surface {
 
     public static Surface ofPtr(MemorySegment ptr) {
         assert !ptr.equals(NULL);
-        return new Surface(ptr);
+        return cache.getOrCreate(ptr, wlr_surface.addons(ptr), Surface::new);
     }
 
 
     public static @Nullable Surface ofPtrOrNull(MemorySegment ptr) {
-        return !ptr.equals(NULL) ? new Surface(ptr) : null;
+        return !ptr.equals(NULL) ? ofPtr(ptr) : null;
     }
 
 
@@ -88,7 +94,7 @@ public class Surface {
     /// Get the root of the subsurface tree for this surface. May return the same surface passed if that
     /// surface is the root. Never returns NULL.
     public Surface getRootSurface() {
-        return new Surface(wlr_surface_get_root_surface(surfacePtr));
+        return Surface.ofPtr(wlr_surface_get_root_surface(surfacePtr));
     }
 
 
@@ -121,11 +127,11 @@ public class Surface {
 
 
         Events(MemorySegment ptr) {
-            clientCommit = Signal.of(wlr_surface.events.client_commit(ptr));
-            commit       = Signal.of(wlr_surface.events.commit(ptr), Surface::new);
-            map          = Signal.of(wlr_surface.events.map(ptr));
-            unmap        = Signal.of(wlr_surface.events.unmap(ptr));
-            destroy      = Signal.of(wlr_surface.events.destroy(ptr), Surface::new);
+            clientCommit = Signal.of(wlr_surface.events.client_commit(ptr), "wlr_surface.events.client_commit");
+            commit       = Signal.of(wlr_surface.events.commit(ptr), Surface::ofPtr, "wlr_surface.events.commit");
+            map          = Signal.of(wlr_surface.events.map(ptr), "wlr_surface.events.map");
+            unmap        = Signal.of(wlr_surface.events.unmap(ptr), "wlr_surface.events.unmap");
+            destroy      = Signal.of(wlr_surface.events.destroy(ptr), Surface::ofPtr, "wlr_surface.events.destroy");
         }
 
 
@@ -1,6 +1,7 @@
 package wlroots.types.cursor;
 
 import jextract.wlroots.wlr_cursor;
+import nylon.ScratchAllocator;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import wayland.server.Signal;
@@ -16,7 +17,6 @@ import wlroots.types.touch.TouchDownEvent;
 import wlroots.types.touch.TouchMotionEvent;
 import wlroots.types.touch.TouchUpEvent;
 
-import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 
 import static java.lang.foreign.MemorySegment.NULL;
@@ -60,6 +60,16 @@ public class Cursor {
     }
 
 
+    /// Both coordinates at once, as a value that doesn't change when the cursor moves.
+    public Position position() {
+        return new Position(wlr_cursor.x(cursorPtr), wlr_cursor.y(cursorPtr));
+    }
+
+
+    public record Position(double x, double y) {
+    }
+
+
     //
     // *** Methods ***
     //
@@ -120,8 +130,8 @@ public class Cursor {
     ///
     /// The image will be loaded from the {@link XcursorManager}.
     public void setXcursor(XcursorManager manager, String name) {
-        try (var arena = Arena.ofConfined()) {
-            wlr_cursor_set_xcursor(cursorPtr, manager.xcursorManagerPtr, arena.allocateFrom(name));
+        try (var scratch = ScratchAllocator.acquire()) {
+            wlr_cursor_set_xcursor(cursorPtr, manager.xcursorManagerPtr, scratch.allocateFrom(name));
         }
     }
 
@@ -157,18 +167,18 @@ public class Cursor {
 
         Events(MemorySegment ptr) {
             // TODO: Lots of missing events
-            this.motion         = Signal.of(wlr_cursor.events.motion(ptr), PointerMotionEvent::new);
-            this.motionAbsolute = Signal.of(wlr_cursor.events.motion_absolute(ptr), PointerMotionAbsoluteEvent::new);
-            this.button         = Signal.of(wlr_cursor.events.button(ptr), PointerButtonEvent::new);
-            this.axis           = Signal.of(wlr_cursor.events.axis(ptr), PointerAxisEvent::new);
-            this.frame          = Signal.of(wlr_cursor.events.frame(ptr), Cursor::new);
-
-            this.touchUp     = Signal.of(wlr_cursor.events.touch_up(ptr), TouchUpEvent::new);
-            this.touchDown   = Signal.of(wlr_cursor.events.touch_down(ptr), TouchDownEvent::new);
-            this.touchMotion = Signal.of(wlr_cursor.events.touch_motion(ptr), TouchMotionEvent::new);
-            this.touchCancel = Signal.of(wlr_cursor.events.touch_cancel(ptr), TouchCancelEvent::new);
-
-            this.tabletToolAxis = Signal.of(wlr_cursor.events.tablet_tool_axis(ptr), TabletToolAxisEvent::new);
+            this.motion         = Signal.of(wlr_cursor.events.motion(ptr), PointerMotionEvent::new, "wlr_cursor.events.motion");
+            this.motionAbsolute = Signal.of(wlr_cursor.events.motion_absolute(ptr), PointerMotionAbsoluteEvent::new, "wlr_cursor.events.motion_absolute");
+            this.button         = Signal.of(wlr_cursor.events.button(ptr), PointerButtonEvent::new, "wlr_cursor.events.button");
+            this.axis           = Signal.of(wlr_cursor.events.axis(ptr), PointerAxisEvent::new, "wlr_cursor.events.axis");
+            this.frame          = Signal.of(wlr_cursor.events.frame(ptr), Cursor::new, "wlr_cursor.events.frame");
+
+            this.touchUp     = Signal.of(wlr_cursor.events.touch_up(ptr), TouchUpEvent::new, "wlr_cursor.events.touch_up");
+            this.touchDown   = Signal.of(wlr_cursor.events.touch_down(ptr), TouchDownEvent::new, "wlr_cursor.events.touch_down");
+            this.touchMotion = Signal.of(wlr_cursor.events.touch_motion(ptr), TouchMotionEvent::new, "wlr_cursor.events.touch_motion");
+            this.touchCancel = Signal.of(wlr_cursor.events.touch_cancel(ptr), TouchCancelEvent::new, "wlr_cursor.events.touch_cancel");
+
+            this.tabletToolAxis = Signal.of(wlr_cursor.events.tablet_tool_axis(ptr), TabletToolAxisEvent::new, "wlr_cursor.events.tablet_tool_axis");
         }
     }
 }
\ No newline at end of file
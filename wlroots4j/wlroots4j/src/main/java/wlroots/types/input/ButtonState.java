@@ -1,25 +1,33 @@
 package wlroots.types.input;
 
+import nylon.EnumTable;
+import nylon.NativeEnum;
+
 import static jextract.wlroots.wlr.WLR_BUTTON_RELEASED;
 import static jextract.wlroots.wlr.WLR_BUTTON_PRESSED;
 
 
-public enum ButtonState {
+public enum ButtonState implements NativeEnum {
     Released(WLR_BUTTON_RELEASED()),
     Pressed(WLR_BUTTON_PRESSED());
 
     final int value;
 
+    private static final EnumTable<ButtonState> table = EnumTable.of(ButtonState.class, "wlr_button_state");
+
 
     ButtonState(int value) {
         this.value = value;
     }
 
 
+    @Override
+    public int value() {
+        return value;
+    }
+
+
     public static ButtonState of(int value) {
-        for (var e : values())
-            if (e.value == value)
-                return e;
-        throw new RuntimeException("Invalid enum value from C code for wlr_button_state");
+        return table.of(value);
     }
 }
\ No newline at end of file
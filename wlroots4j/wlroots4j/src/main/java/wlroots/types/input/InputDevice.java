@@ -61,7 +61,7 @@ public sealed class InputDevice permits Keyboard, Pointer {
 
         public Events(MemorySegment eventsPtr) {
             assert !eventsPtr.equals(NULL);
-            this.destroy = Signal.of(wlr_input_device.events.destroy(eventsPtr), InputDevice::new);
+            this.destroy = Signal.of(wlr_input_device.events.destroy(eventsPtr), InputDevice::new, "wlr_input_device.events.destroy");
         }
     }
 }
\ No newline at end of file
@@ -1,11 +1,12 @@
 package wlroots.types.input;
 
-import nylon.Utils;
+import nylon.EnumTable;
+import nylon.NativeEnum;
 
 import static jextract.wlroots.wlr.*;
 
 
-public enum InputDeviceType {
+public enum InputDeviceType implements NativeEnum {
     Keyboard(WLR_INPUT_DEVICE_KEYBOARD()),    // struct wlr_keyboard
     Pointer(WLR_INPUT_DEVICE_POINTER()),      // struct wlr_pointer
     Touch(WLR_INPUT_DEVICE_TOUCH()),          // struct wlr_touch
@@ -15,8 +16,7 @@ public enum InputDeviceType {
 
     public final int value;
 
-    private static final InputDeviceType[] lookupTable = Utils.createLookupTableFromEnumClass(InputDeviceType.class);
-    private static final InputDeviceType[] enumerations = values();
+    private static final EnumTable<InputDeviceType> table = EnumTable.of(InputDeviceType.class, "wlr_input_device_type");
 
 
     InputDeviceType(int value) {
@@ -24,18 +24,13 @@ public enum InputDeviceType {
     }
 
 
-    // TODO: Delete, don't need it anymore
-    public static InputDeviceType ofIterate(int value) {
-        for (var e : enumerations)
-            if (e.value == value)
-                return e;
-        throw new RuntimeException("Invalid enum value from C code for wlr_input_device_type");
+    @Override
+    public int value() {
+        return value;
     }
 
 
     public static InputDeviceType of(int value) {
-        var deviceType = lookupTable[value];
-        assert deviceType != null : "Invalid enumeration value from C code for wlr_input_device_type: " + value;
-        return deviceType;
+        return table.of(value);
     }
 }
\ No newline at end of file
@@ -134,6 +134,12 @@ public final class Keyboard extends InputDevice {
     }
 
 
+    /// Same as {@link #getKeyboardModifiers()}, as a bitmask. Prefer this one on the key event path.
+    public ModifierMask getModifierMask() {
+        return new ModifierMask(wlr_keyboard_get_modifiers(keyboardPtr));
+    }
+
+
     /// Set the keyboard repeat info.
     ///
     /// @param rateHz  Key repeats per second
@@ -143,42 +149,6 @@ public final class Keyboard extends InputDevice {
     }
 
 
-    //
-    // *** Modifiers ***
-    //
-
-    // TODO: Delete, maybe move into benchmark
-    public final static class Modifiers {
-        private final int modifiers;
-
-
-        public Modifiers(int modifiers) {
-            this.modifiers = modifiers;
-        }
-
-
-        public boolean containsCtrlAltShift() {
-            var mask = WLR_MODIFIER_CTRL() | WLR_MODIFIER_ALT() | WLR_MODIFIER_SHIFT();
-            return (modifiers & mask) != 0;
-        }
-
-
-        public boolean containsCtrl() {
-            return (modifiers & WLR_MODIFIER_CTRL()) != 0;
-        }
-
-
-        public boolean containsAlt() {
-            return (modifiers & WLR_MODIFIER_ALT()) != 0;
-        }
-
-
-        public boolean containsShift() {
-            return (modifiers & WLR_MODIFIER_SHIFT()) != 0;
-        }
-    }
-
-
     //
     // *** Events ***
     //
@@ -197,8 +167,8 @@ public final class Keyboard extends InputDevice {
         Events(MemorySegment ptr) {
             assert !ptr.equals(NULL);
             super(wlr_input_device.events(inputDevicePtr));
-            key       = Signal.of(wlr_keyboard.events.key(ptr), KeyEvent::new);
-            modifiers = Signal.of(wlr_keyboard.events.modifiers(ptr), Keyboard::new);
+            key       = Signal.of(wlr_keyboard.events.key(ptr), KeyEvent::new, "wlr_keyboard.events.key");
+            modifiers = Signal.of(wlr_keyboard.events.modifiers(ptr), Keyboard::new, "wlr_keyboard.events.modifiers");
         }
     }
 }
\ No newline at end of file
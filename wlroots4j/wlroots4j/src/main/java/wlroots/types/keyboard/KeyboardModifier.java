@@ -1,5 +1,7 @@
 package wlroots.types.keyboard;
 
+import nylon.EnumTable;
+import nylon.NativeEnum;
 import org.jspecify.annotations.NullMarked;
 
 import java.util.EnumSet;
@@ -8,7 +10,7 @@ import static jextract.wlroots.wlr.*;
 
 
 @NullMarked
-public enum KeyboardModifier {
+public enum KeyboardModifier implements NativeEnum {
     Control(WLR_MODIFIER_CTRL()),
     Alt(WLR_MODIFIER_ALT()),
     Shift(WLR_MODIFIER_SHIFT()),
@@ -22,7 +24,7 @@ public enum KeyboardModifier {
 
 
     public final int value;
-    private static final KeyboardModifier[] enumerations = values();
+    static final EnumTable<KeyboardModifier> table = EnumTable.of(KeyboardModifier.class, "wlr_keyboard_modifier");
 
 
     KeyboardModifier(int value) {
@@ -30,17 +32,18 @@ public enum KeyboardModifier {
     }
 
 
+    @Override
+    public int value() {
+        return value;
+    }
+
+
     public boolean containedIn(int bitset) {
         return (this.value & bitset) != 0;
     }
 
 
     public static EnumSet<KeyboardModifier> fromBitset(int bitset) {
-        var set = EnumSet.noneOf(KeyboardModifier.class);
-        for (var enumeration : enumerations) {
-            if (enumeration.containedIn(bitset))
-                set.add(enumeration);
-        }
-        return set;
+        return table.fromBitset(bitset);
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package wlroots.types.keyboard;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+
+/// Set of {@link KeyboardModifier}s as the C bitmask (`uint32_t` of `enum wlr_keyboard_modifier` bits). Testing
+/// a modifier is a bit test, and getting the modifiers of a key event allocates at most this record, instead of
+/// an `EnumSet` filled by testing every modifier.
+///
+/// ```java
+/// if (keyboard.getModifierMask().contains(Alt)) ...
+/// ```
+@NullMarked
+public record ModifierMask(int value) {
+    public static final ModifierMask NONE = new ModifierMask(0);
+
+
+    public static ModifierMask of(KeyboardModifier... modifiers) {
+        int value = 0;
+        for (var modifier : modifiers)
+            value |= modifier.value;
+        return new ModifierMask(value);
+    }
+
+
+    public boolean contains(KeyboardModifier modifier) {
+        return (value & modifier.value) != 0;
+    }
+
+
+    /// @return True if all the modifiers of `other` are in this mask
+    public boolean containsAll(ModifierMask other) {
+        return (value & other.value) == other.value;
+    }
+
+
+    /// @return True if any modifier of `other` is in this mask
+    public boolean containsAny(ModifierMask other) {
+        return (value & other.value) != 0;
+    }
+
+
+    public boolean isEmpty() {
+        return value == 0;
+    }
+
+
+    public ModifierMask with(KeyboardModifier modifier) {
+        return new ModifierMask(value | modifier.value);
+    }
+
+
+    public ModifierMask without(KeyboardModifier modifier) {
+        return new ModifierMask(value & ~modifier.value);
+    }
+
+
+    /// Read-only `Set` view, for APIs taking collections.
+    public Set<KeyboardModifier> asSet() {
+        return KeyboardModifier.table.asSet(value);
+    }
+
+
+    public EnumSet<KeyboardModifier> toEnumSet() {
+        return KeyboardModifier.fromBitset(value);
+    }
+
+
+    @Override
+    public String toString() {
+        return "ModifierMask" + asSet();
+    }
+}
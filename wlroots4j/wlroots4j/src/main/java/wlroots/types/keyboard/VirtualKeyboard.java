@@ -0,0 +1,60 @@
+package wlroots.types.keyboard;
+
+import jextract.wlroots.wlr_keyboard;
+import jextract.wlroots.wlr_keyboard_impl;
+import jextract.wlroots.wlr_keyboard_key_event;
+import nylon.ScratchAllocator;
+import org.jspecify.annotations.NullMarked;
+import wayland.KeyboardKeyState;
+
+import java.lang.foreign.Arena;
+
+import static jextract.wlroots.wlr.*;
+
+
+/// A keyboard device driven from Java, for tests and benchmarks on the headless backend. Key events go
+/// through `wlr_keyboard_notify_key()`, like the ones of a real keyboard, so the XKB state and modifiers are
+/// updated. Announce it with `Backend.emitNewInput()`.
+///
+/// Convenience class, does not exist in wlroots. Use only from the event loop thread.
+@NullMarked
+public final class VirtualKeyboard {
+    private final Arena arena = Arena.ofConfined();
+    public final Keyboard keyboard;
+
+
+    private VirtualKeyboard(String name) {
+        var implPtr = wlr_keyboard_impl.allocate(arena);
+        var namePtr = arena.allocateFrom(name);
+        wlr_keyboard_impl.name(implPtr, namePtr);
+
+        var keyboardPtr = wlr_keyboard.allocate(arena);
+        wlr_keyboard_init(keyboardPtr, implPtr, namePtr);
+        keyboard = new Keyboard(keyboardPtr);
+    }
+
+
+    public static VirtualKeyboard create(String name) {
+        return new VirtualKeyboard(name);
+    }
+
+
+    /// @param keycode Linux input event code (e.g. `KEY_A`), not an XKB keycode
+    public void key(int timeMsec, int keycode, KeyboardKeyState state) {
+        try (var scratch = ScratchAllocator.acquire()) {
+            var eventPtr = wlr_keyboard_key_event.allocate(scratch);
+            wlr_keyboard_key_event.time_msec(eventPtr, timeMsec);
+            wlr_keyboard_key_event.keycode(eventPtr, keycode);
+            wlr_keyboard_key_event.update_state(eventPtr, true);
+            wlr_keyboard_key_event.state(eventPtr, state.value);
+            wlr_keyboard_notify_key(keyboard.keyboardPtr, eventPtr);
+        }
+    }
+
+
+    /// Emits the destroy signal of the input device, then frees the keyboard.
+    public void destroy() {
+        wlr_keyboard_finish(keyboard.keyboardPtr);
+        arena.close();
+    }
+}
@@ -57,6 +57,11 @@ public final class Output {
     // *** Fields ***
     //
 
+    public String name() {
+        return wlr_output.name(outputPtr).getString(0);
+    }
+
+
     public int width() {
         return wlr_output.width(outputPtr);
     }
@@ -67,6 +72,12 @@ public final class Output {
     }
 
 
+    /// Refresh rate of the current mode in mHz, 0 if unknown.
+    public int refresh() {
+        return wlr_output.refresh(outputPtr);
+    }
+
+
     //
     // *** Methods ***
     //
@@ -151,9 +162,9 @@ public final class Output {
 
 
         Events(MemorySegment ptr) {
-            frame        = Signal.of(wlr_output.events.frame(ptr), Output::new);
-            requestState = Signal.of(wlr_output.events.request_state(ptr), EventRequestState::new);
-            destroy      = Signal.of(wlr_output.events.destroy(ptr), Output::new);
+            frame        = Signal.of(wlr_output.events.frame(ptr), Output::new, "wlr_output.events.frame");
+            requestState = Signal.of(wlr_output.events.request_state(ptr), EventRequestState::new, "wlr_output.events.request_state");
+            destroy      = Signal.of(wlr_output.events.destroy(ptr), Output::new, "wlr_output.events.destroy");
         }
     }
 }
\ No newline at end of file
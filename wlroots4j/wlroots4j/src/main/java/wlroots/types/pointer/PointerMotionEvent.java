@@ -2,12 +2,18 @@ package wlroots.types.pointer;
 
 import jextract.wlroots.wlr_pointer_motion_event;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import wayland.server.Flyweight;
 
 import java.lang.foreign.MemorySegment;
 
 import static java.lang.foreign.MemorySegment.NULL;
 
 
+/// `struct wlr_pointer_motion_event {}`
+///
+/// A copy of the fields, the event can be kept after the signal callback. See {@link View} for the
+/// non-allocating variant.
 @NullMarked
 public class PointerMotionEvent {
     public final Pointer pointer;
@@ -23,4 +29,52 @@ public class PointerMotionEvent {
         deltaY   = wlr_pointer_motion_event.delta_y(ptr);
         timeMsec = wlr_pointer_motion_event.time_msec(ptr);
     }
-}
\ No newline at end of file
+
+
+    /// Flyweight view of the event for {@link wayland.server.Signal.Signal1#addFlyweight}. Fields are read
+    /// lazily, so the view is only valid during the signal callback.
+    public static final class View implements Flyweight {
+        private MemorySegment eventPtr;
+        private @Nullable Pointer pointer;
+
+
+        public View(MemorySegment ptr) {
+            assert !ptr.equals(NULL);
+            eventPtr = ptr;
+        }
+
+
+        @Override
+        public void rebind(MemorySegment ptr) {
+            assert !ptr.equals(NULL);
+            eventPtr = ptr;
+        }
+
+
+        /// The wrapper is reused while events keep coming from the same pointer device.
+        public Pointer getPointer() {
+            var pointerPtr = wlr_pointer_motion_event.pointer(eventPtr);
+            var cached = pointer;
+            if (cached == null || cached.pointerPtr.address() != pointerPtr.address()) {
+                cached = new Pointer(pointerPtr);
+                pointer = cached;
+            }
+            return cached;
+        }
+
+
+        public double getDeltaX() {
+            return wlr_pointer_motion_event.delta_x(eventPtr);
+        }
+
+
+        public double getDeltaY() {
+            return wlr_pointer_motion_event.delta_y(eventPtr);
+        }
+
+
+        public int getTimeMsec() {
+            return wlr_pointer_motion_event.time_msec(eventPtr);
+        }
+    }
+}
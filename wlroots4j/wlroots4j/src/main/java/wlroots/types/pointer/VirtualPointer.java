@@ -0,0 +1,85 @@
+package wlroots.types.pointer;
+
+import jextract.wlroots.wlr_pointer;
+import jextract.wlroots.wlr_pointer_button_event;
+import jextract.wlroots.wlr_pointer_impl;
+import jextract.wlroots.wlr_pointer_motion_event;
+import nylon.ScratchAllocator;
+import org.jspecify.annotations.NullMarked;
+import wayland.PointerButtonState;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+import static jextract.wayland.wl.wl_signal_emit_mutable;
+import static jextract.wlroots.wlr.*;
+
+
+/// A pointer device driven from Java, for tests and benchmarks on the headless backend. Emits the same
+/// events a backend emits for a real mouse. Announce it with `Backend.emitNewInput()`.
+///
+/// Convenience class, does not exist in wlroots. Use only from the event loop thread.
+@NullMarked
+public final class VirtualPointer {
+    private final Arena arena = Arena.ofConfined();
+    public final Pointer pointer;
+
+
+    private VirtualPointer(String name) {
+        var implPtr = wlr_pointer_impl.allocate(arena);
+        var namePtr = arena.allocateFrom(name);
+        wlr_pointer_impl.name(implPtr, namePtr);
+
+        var pointerPtr = wlr_pointer.allocate(arena);
+        wlr_pointer_init(pointerPtr, implPtr, namePtr);
+        pointer = new Pointer(pointerPtr);
+    }
+
+
+    public static VirtualPointer create(String name) {
+        return new VirtualPointer(name);
+    }
+
+
+    /// Relative motion, emits `wlr_pointer.events.motion`.
+    public void motion(int timeMsec, double deltaX, double deltaY) {
+        try (var scratch = ScratchAllocator.acquire()) {
+            var eventPtr = wlr_pointer_motion_event.allocate(scratch);
+            wlr_pointer_motion_event.pointer(eventPtr, pointer.pointerPtr);
+            wlr_pointer_motion_event.time_msec(eventPtr, timeMsec);
+            wlr_pointer_motion_event.delta_x(eventPtr, deltaX);
+            wlr_pointer_motion_event.delta_y(eventPtr, deltaY);
+            wlr_pointer_motion_event.unaccel_dx(eventPtr, deltaX);
+            wlr_pointer_motion_event.unaccel_dy(eventPtr, deltaY);
+            wl_signal_emit_mutable(wlr_pointer.events.motion(wlr_pointer.events(pointer.pointerPtr)), eventPtr);
+        }
+    }
+
+
+    /// Emits `wlr_pointer.events.button`.
+    ///
+    /// @param button Linux input event code, e.g. `BTN_LEFT`
+    public void button(int timeMsec, int button, PointerButtonState state) {
+        try (var scratch = ScratchAllocator.acquire()) {
+            var eventPtr = wlr_pointer_button_event.allocate(scratch);
+            wlr_pointer_button_event.pointer(eventPtr, pointer.pointerPtr);
+            wlr_pointer_button_event.time_msec(eventPtr, timeMsec);
+            wlr_pointer_button_event.button(eventPtr, button);
+            wlr_pointer_button_event.state(eventPtr, state.value);
+            wl_signal_emit_mutable(wlr_pointer.events.button(wlr_pointer.events(pointer.pointerPtr)), eventPtr);
+        }
+    }
+
+
+    /// Emits `wlr_pointer.events.frame`, ends a group of events that belong together.
+    public void frame() {
+        wl_signal_emit_mutable(wlr_pointer.events.frame(wlr_pointer.events(pointer.pointerPtr)), pointer.pointerPtr);
+    }
+
+
+    /// Emits the destroy signal of the input device, then frees the pointer.
+    public void destroy() {
+        wlr_pointer_finish(pointer.pointerPtr);
+        arena.close();
+    }
+}
@@ -1,6 +1,8 @@
 package wlroots.types.scene;
 
 import jextract.wlroots.wlr_scene;
+import jextract.wlroots.wlr_scene_node;
+import jextract.wlroots.wlr_scene_tree;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import wlroots.types.output.Output;
@@ -29,7 +31,10 @@ public final class Scene extends SceneTree {
 
     /// Create a new scene-graph.
     static public Scene create() {
-        return new Scene(wlr_scene_create());
+        var scenePtr = wlr_scene_create();
+        var nodePtr = wlr_scene_tree.node(wlr_scene.tree(scenePtr));
+        // Register the root under its node address, so lookups of the root node return this Scene
+        return (Scene) SceneNode.cache.getOrCreate(nodePtr, wlr_scene_node.addons(nodePtr), _ -> new Scene(scenePtr));
     }
 
 
@@ -9,7 +9,6 @@ import java.lang.foreign.MemorySegment;
 
 import static java.lang.foreign.MemorySegment.NULL;
 import static jextract.wlroots.wlr.wlr_scene_buffer_create;
-import static jextract.wlroots.wlr.wlr_scene_buffer_from_node;
 
 
 /// A scene-graph node displaying a buffer
@@ -37,14 +36,21 @@ public final class SceneBuffer extends SceneNode {
     }
 
 
+    /// @param ptr `struct wlr_scene_buffer *`
+    public static SceneBuffer ofPtr(MemorySegment ptr) {
+        assert !ptr.equals(NULL);
+        return (SceneBuffer) SceneNode.ofPtr(wlr_scene_buffer.node(ptr));
+    }
+
+
     public static SceneBuffer create(SceneTree parent, Buffer buffer) {
-        return new SceneBuffer(wlr_scene_buffer_create(parent.sceneTreePtr, buffer.bufferPtr));
+        return SceneBuffer.ofPtr(wlr_scene_buffer_create(parent.sceneTreePtr, buffer.bufferPtr));
     }
 
 
     /// If this node represents a wlr_scene_buffer, that buffer will be returned. It is not legal to feed a
     /// node that does not represent a wlr_scene_buffer.
     public static SceneBuffer fromNode(SceneNode node) {
-        return new SceneBuffer(wlr_scene_buffer_from_node(node.sceneNodePtr));
+        return (SceneBuffer) node.toConcreteSceneNode();
     }
 }
\ No newline at end of file
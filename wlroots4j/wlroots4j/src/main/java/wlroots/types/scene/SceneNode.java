@@ -2,10 +2,15 @@ package wlroots.types.scene;
 
 import jextract.wlroots.wlr_scene_node;
 import nylon.Coordinates;
+import nylon.EnumTable;
+import nylon.HandleTable;
+import nylon.NativeEnum;
+import nylon.ScratchAllocator;
 import nylon.Tuple;
 import nylon.Tuple.Tuple3;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
+import wlroots.util.WrapperCache;
 
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
@@ -14,12 +19,29 @@ import java.util.Iterator;
 
 import static java.lang.foreign.MemorySegment.NULL;
 import static jextract.wlroots.wlr.*;
+import static nylon.Utils.firstInt;
+import static nylon.Utils.secondInt;
 
 
+/// Use {@link #ofPtr(MemorySegment)} to get the wrapper of a native scene node: it always returns the same
+/// object of the concrete type ({@link SceneTree}, {@link SceneRect}, {@link SceneBuffer}) for the same node,
+/// until the node is destroyed.
 @NullMarked
 public sealed class SceneNode permits SceneTree, SceneBuffer, SceneRect {
     public final MemorySegment sceneNodePtr;
 
+    /// Wrappers of all node types, by `wlr_scene_node` address. Releases the user data of destroyed nodes.
+    static final WrapperCache<SceneNode> cache =
+        new WrapperCache<>("wlroots4j-scene-node", node -> node.replaceData(null));
+
+    /// Objects attached to nodes with {@link #setData(Object)}, the `data` field holds the handle.
+    private static final HandleTable<Object> dataHandles = new HandleTable<>();
+
+    static {
+        // position() reads x and y at once
+        assert wlr_scene_node.y$offset() == wlr_scene_node.x$offset() + 4;
+    }
+
     /// Iterate over the .parent field all the way up to the root of the tree.
     public final Iterable<SceneTree> parentIterator = ParentIterator::new;
 
@@ -30,6 +52,22 @@ public sealed class SceneNode permits SceneTree, SceneBuffer, SceneRect {
     }
 
 
+    /// Get the wrapper of the concrete node type for `struct wlr_scene_node *`.
+    public static SceneNode ofPtr(MemorySegment sceneNodePtr) {
+        assert !sceneNodePtr.equals(NULL);
+        return cache.getOrCreate(sceneNodePtr, wlr_scene_node.addons(sceneNodePtr), SceneNode::createConcrete);
+    }
+
+
+    private static SceneNode createConcrete(MemorySegment sceneNodePtr) {
+        return switch (Type.of(wlr_scene_node.type(sceneNodePtr))) {
+            case Tree -> new SceneTree(wlr_scene_tree_from_node(sceneNodePtr));
+            case Rect -> new SceneRect(wlr_scene_rect_from_node(sceneNodePtr));
+            case Buffer -> new SceneBuffer(wlr_scene_buffer_from_node(sceneNodePtr));
+        };
+    }
+
+
     //
     // *** Fields ***
     //
@@ -57,6 +95,38 @@ public sealed class SceneNode permits SceneTree, SceneBuffer, SceneRect {
     }
 
 
+    /// Position relative to the parent, both coordinates read with a single memory access.
+    public Coordinates position() {
+        var xy = sceneNodePtr.get(ValueLayout.JAVA_LONG_UNALIGNED, wlr_scene_node.x$offset());
+        return new Coordinates(firstInt(xy), secondInt(xy));
+    }
+
+
+    /// @return Object attached with {@link #setData(Object)}, or NULL if there is none
+    public @Nullable Object getData() {
+        return dataHandles.get(wlr_scene_node.data(sceneNodePtr).address());
+    }
+
+
+    /// Attach a Java object to the node, using its `void *data` field. The object is kept reachable until it's
+    /// replaced, cleared with NULL, or the node is destroyed.
+    ///
+    /// The `data` field holds a handle, not a real pointer, so it must not be set from native code for nodes
+    /// that are also used through this method.
+    public void setData(@Nullable Object data) {
+        // The cache entry releases the handle when the node is destroyed, make sure there is one
+        if (data != null) SceneNode.ofPtr(sceneNodePtr);
+        replaceData(data);
+    }
+
+
+    private void replaceData(@Nullable Object data) {
+        dataHandles.remove(wlr_scene_node.data(sceneNodePtr).address());
+        var handle = data != null ? dataHandles.add(data) : 0L;
+        wlr_scene_node.data(sceneNodePtr, MemorySegment.ofAddress(handle));
+    }
+
+
     //
     // *** Methods ***
     //
@@ -84,9 +154,9 @@ public sealed class SceneNode permits SceneTree, SceneBuffer, SceneRect {
     ///     enabled.
     public Coordinates coords() {
         // TODO: Implement boolean return also! Damnit Java and multiple return values
-        try (var arena = Arena.ofConfined()) {
-            var lx = arena.allocate(ValueLayout.JAVA_INT);
-            var ly = arena.allocate(ValueLayout.JAVA_INT);
+        try (var scratch = ScratchAllocator.acquire()) {
+            var lx = scratch.allocate(ValueLayout.JAVA_INT);
+            var ly = scratch.allocate(ValueLayout.JAVA_INT);
             var flag = wlr_scene_node_coords(this.sceneNodePtr, lx, ly);
             return new Coordinates(lx.get(ValueLayout.JAVA_INT, 0), ly.get(ValueLayout.JAVA_INT, 0));
         }
@@ -108,14 +178,14 @@ public sealed class SceneNode permits SceneTree, SceneBuffer, SceneRect {
     /// @return Found {@link SceneNode} and coordinates relative to the returned node, or NULL if no node
     ///     found
     public @Nullable Tuple3<SceneNode, Double, Double> nodeAt(double lx, double ly) {
-        try (var arena = Arena.ofConfined()) {
-            var nxPtr = arena.allocate(ValueLayout.JAVA_DOUBLE);
-            var nyPtr = arena.allocate(ValueLayout.JAVA_DOUBLE);
+        try (var scratch = ScratchAllocator.acquire()) {
+            var nxPtr = scratch.allocate(ValueLayout.JAVA_DOUBLE);
+            var nyPtr = scratch.allocate(ValueLayout.JAVA_DOUBLE);
             var sceneNodePtr = wlr_scene_node_at(this.sceneNodePtr, lx, ly, nxPtr, nyPtr);
 
             if (!sceneNodePtr.equals(NULL)) {
                 return Tuple.of(
-                    new SceneNode(sceneNodePtr).toConcreteSceneNode(),
+                    SceneNode.ofPtr(sceneNodePtr),
                     nxPtr.get(ValueLayout.JAVA_DOUBLE, 0),
                     nyPtr.get(ValueLayout.JAVA_DOUBLE, 0));
             } else {
@@ -125,6 +195,24 @@ public sealed class SceneNode permits SceneTree, SceneBuffer, SceneRect {
     }
 
 
+    /// Same as {@link #nodeAt(double, double)}, but writes into a reusable `result` instead of allocating, for
+    /// hit testing on every pointer motion.
+    ///
+    /// @return True if a node was found, its wrapper and coordinates relative to it are then in `result`
+    public boolean nodeAt(double lx, double ly, NodeAtResult result) {
+        var sceneNodePtr = wlr_scene_node_at(this.sceneNodePtr, lx, ly, result.nxPtr, result.nyPtr);
+        if (sceneNodePtr.equals(NULL)) {
+            result.node = null;
+            return false;
+        }
+
+        result.node = SceneNode.ofPtr(sceneNodePtr);
+        result.nx = result.nxPtr.get(ValueLayout.JAVA_DOUBLE, 0);
+        result.ny = result.nyPtr.get(ValueLayout.JAVA_DOUBLE, 0);
+        return true;
+    }
+
+
     /// Immediately destroy the scene-graph node.
     public void destroy() {
         wlr_scene_node_destroy(sceneNodePtr);
@@ -133,11 +221,43 @@ public sealed class SceneNode permits SceneTree, SceneBuffer, SceneRect {
 
     /// Convenience method, not present in wlroots. Converts {@link SceneNode} to a concrete implementation
     public SceneNode toConcreteSceneNode() {
-        return switch (getType()) {
-            case Tree -> SceneTree.fromNode(this);
-            case Rect -> SceneRect.fromNode(this);
-            case Buffer -> SceneBuffer.fromNode(this);
-        };
+        return SceneNode.ofPtr(sceneNodePtr);
+    }
+
+
+    /// Result of {@link #nodeAt(double, double, NodeAtResult)}. Holds the out-parameters of `wlr_scene_node_at`,
+    /// allocate once and reuse it. Only valid until the next call it's used in.
+    public static final class NodeAtResult {
+        private final MemorySegment nxPtr;
+        private final MemorySegment nyPtr;
+        private @Nullable SceneNode node;
+        private double nx;
+        private double ny;
+
+
+        /// @param arena Arena for the out-parameters, must live as long as this object is used
+        public NodeAtResult(Arena arena) {
+            nxPtr = arena.allocate(ValueLayout.JAVA_DOUBLE);
+            nyPtr = arena.allocate(ValueLayout.JAVA_DOUBLE);
+        }
+
+
+        /// Found node, or NULL if there was no node at the location.
+        public @Nullable SceneNode getNode() {
+            return node;
+        }
+
+
+        /// Node-local x coordinate.
+        public double getNx() {
+            return nx;
+        }
+
+
+        /// Node-local y coordinate.
+        public double getNy() {
+            return ny;
+        }
     }
 
 
@@ -166,25 +286,29 @@ public sealed class SceneNode permits SceneTree, SceneBuffer, SceneRect {
     }
 
 
-    public enum Type {
+    public enum Type implements NativeEnum {
         Tree(WLR_SCENE_NODE_TREE()),
         Rect(WLR_SCENE_NODE_RECT()),
         Buffer(WLR_SCENE_NODE_BUFFER());
 
         public final int value;
 
+        private static final EnumTable<Type> table = EnumTable.of(Type.class, "wlr_scene_node_type");
+
 
         Type(int value) {
             this.value = value;
         }
 
 
-        public static Type of(int value) {
-            if (value == WLR_SCENE_NODE_TREE()) return Tree;
-            if (value == WLR_SCENE_NODE_RECT()) return Rect;
-            if (value == WLR_SCENE_NODE_BUFFER()) return Buffer;
+        @Override
+        public int value() {
+            return value;
+        }
+
 
-            throw new RuntimeException("Invalid enum value from C code for wlr_scene_node_type");
+        public static Type of(int value) {
+            return table.of(value);
         }
     }
 }
\ No newline at end of file
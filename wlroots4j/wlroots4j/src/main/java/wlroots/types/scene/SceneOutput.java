@@ -1,11 +1,12 @@
 package wlroots.types.scene;
 
 import jextract.wlroots.timespec;
+import nylon.ScratchAllocator;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import wlroots.types.output.Output;
+import wlroots.util.FrameClock;
 
-import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 
 import static java.lang.foreign.MemorySegment.NULL;
@@ -40,15 +41,28 @@ public class SceneOutput {
     /// Call wlr_surface_send_frame_done() on all surfaces in the scene rendered by {@link #commit()} for
     /// which wlr_scene_surface.primary_output matches the given scene_output.
     public void sendFrameDone() {
-        // TODO: Implement the overload with time parameter (Instant, getEpochSeconds(), getNano)
-        try (var arena = Arena.ofConfined()) {
-            var timeSpecPtr = timespec.allocate(arena);
+        try (var scratch = ScratchAllocator.acquire()) {
+            var timeSpecPtr = timespec.allocate(scratch);
             clock_gettime(CLOCK_MONOTONIC(), timeSpecPtr);
             wlr_scene_output_send_frame_done(sceneOutputPtr, timeSpecPtr);
         }
     }
 
 
+    /// Same as {@link #sendFrameDone()}, but with the timestamp from a reused `clock`. Call `clock.now()` first
+    /// to send the current time.
+    public void sendFrameDone(FrameClock clock) {
+        wlr_scene_output_send_frame_done(sceneOutputPtr, clock.timespecPtr);
+    }
+
+
+    /// Whether the output has damage or pending frame callbacks, i.e. {@link #commit()} would render a new
+    /// frame. Otherwise, the commit is skipped.
+    public boolean needsFrame() {
+        return wlr_scene_output_needs_frame(sceneOutputPtr);
+    }
+
+
     public boolean commit() {
         // TODO: Implement commit() overload when options are not null
         return wlr_scene_output_commit(sceneOutputPtr, NULL);
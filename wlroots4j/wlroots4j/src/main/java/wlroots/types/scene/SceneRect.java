@@ -1,9 +1,9 @@
 package wlroots.types.scene;
 
 import jextract.wlroots.wlr_scene_rect;
+import nylon.ScratchAllocator;
 import org.jspecify.annotations.NullMarked;
 
-import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.ValueLayout;
 
@@ -26,12 +26,19 @@ public final class SceneRect extends SceneNode {
     }
 
 
+    /// @param ptr `struct wlr_scene_rect *`
+    public static SceneRect ofPtr(MemorySegment ptr) {
+        assert !ptr.equals(NULL);
+        return (SceneRect) SceneNode.ofPtr(wlr_scene_rect.node(ptr));
+    }
+
+
     public static SceneRect create(SceneTree parent, int width, int height, float[] color) {
-        try (var arena = Arena.ofConfined()) {
-            return new SceneRect(wlr_scene_rect_create(
+        try (var scratch = ScratchAllocator.acquire()) {
+            return SceneRect.ofPtr(wlr_scene_rect_create(
                 parent.sceneTreePtr,
                 width, height,
-                arena.allocateFrom(ValueLayout.JAVA_FLOAT, color)));
+                scratch.allocateFrom(ValueLayout.JAVA_FLOAT, color)));
         }
     }
 
@@ -39,7 +46,7 @@ public final class SceneRect extends SceneNode {
     /// If this node represents a wlr_scene_rect, that rect will be returned. It is not legal to feed a node
     /// that does not represent a wlr_scene_rect.
     public static SceneRect fromNode(SceneNode node) {
-        return new SceneRect(wlr_scene_rect_from_node(node.sceneNodePtr));
+        return (SceneRect) node.toConcreteSceneNode();
     }
 
 
@@ -49,11 +49,11 @@ public class SceneSurface {
 
 
     public SceneBuffer getBuffer() {
-        return new SceneBuffer(wlr_scene_surface.buffer(sceneSurfacePtr));
+        return SceneBuffer.ofPtr(wlr_scene_surface.buffer(sceneSurfacePtr));
     }
 
 
     public Surface getSurface() {
-        return new Surface(wlr_scene_surface.surface(sceneSurfacePtr));
+        return Surface.ofPtr(wlr_scene_surface.surface(sceneSurfacePtr));
     }
 }
\ No newline at end of file
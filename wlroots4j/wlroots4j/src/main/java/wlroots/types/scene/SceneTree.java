@@ -9,7 +9,6 @@ import wlroots.types.xdg_shell.XdgSurface;
 import java.lang.foreign.MemorySegment;
 
 import static java.lang.foreign.MemorySegment.NULL;
-import static jextract.wlroots.wlr.wlr_scene_tree_from_node;
 import static jextract.wlroots.wlr.wlr_scene_xdg_surface_create;
 
 
@@ -42,8 +41,15 @@ public sealed class SceneTree extends SceneNode permits Scene {
     }
 
 
+    /// @param ptr `struct wlr_scene_tree *`
+    public static SceneTree ofPtr(MemorySegment ptr) {
+        assert !ptr.equals(NULL);
+        return (SceneTree) SceneNode.ofPtr(wlr_scene_tree.node(ptr));
+    }
+
+
     public static @Nullable SceneTree ofPtrOrNull(MemorySegment ptr) {
-        return !ptr.equals(NULL) ? new SceneTree(ptr) : null;
+        return !ptr.equals(NULL) ? ofPtr(ptr) : null;
     }
 
 
@@ -57,7 +63,7 @@ public sealed class SceneTree extends SceneNode permits Scene {
     /// If this node represents a wlr_scene_tree, that tree will be returned. It is not legal to feed a node
     /// that does not represent a wlr_scene_tree.
     public static SceneTree fromNode(SceneNode node) {
-        return new SceneTree(wlr_scene_tree_from_node(node.sceneNodePtr));
+        return (SceneTree) node.toConcreteSceneNode();
     }
 
 
@@ -75,7 +81,7 @@ public sealed class SceneTree extends SceneNode permits Scene {
     /// @return SceneTree that was created and attached to the `xdgSurface` that was passed in
     ///
     public SceneTree xdgSurfaceCreate(XdgSurface xdgSurface) {
-        return new SceneTree(wlr_scene_xdg_surface_create(sceneTreePtr, xdgSurface.xdgSurfacePtr));
+        return SceneTree.ofPtr(wlr_scene_xdg_surface_create(sceneTreePtr, xdgSurface.xdgSurfacePtr));
     }
 
 
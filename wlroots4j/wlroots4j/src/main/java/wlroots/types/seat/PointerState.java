@@ -80,7 +80,7 @@ public class PointerState {
 
 
         Events(MemorySegment ptr) {
-            focusChange = Signal.of(wlr_seat_pointer_state.events.focus_change(ptr), PointerFocusChangeEvent::new);
+            focusChange = Signal.of(wlr_seat_pointer_state.events.focus_change(ptr), PointerFocusChangeEvent::new, "wlr_seat_pointer_state.events.focus_change");
         }
     }
 }
\ No newline at end of file
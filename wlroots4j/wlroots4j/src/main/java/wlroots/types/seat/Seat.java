@@ -1,6 +1,7 @@
 package wlroots.types.seat;
 
 import jextract.wlroots.wlr_seat;
+import nylon.ScratchAllocator;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import wayland.*;
@@ -13,7 +14,6 @@ import wlroots.types.keyboard.Keyboard;
 import wlroots.types.keyboard.KeyboardModifiers;
 import wlroots.types.pointer.PointerAxisEvent;
 
-import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 import java.util.EnumSet;
 
@@ -36,8 +36,8 @@ public final class Seat {
 
     /// Allocates a new struct wlr_seat and adds a wl_seat global to the display.
     public static Seat create(Display display, String name) {
-        try (var arena = Arena.ofConfined()) {
-            return new Seat(wlr_seat_create(display.displayPtr, arena.allocateFrom(name)));
+        try (var scratch = ScratchAllocator.acquire()) {
+            return new Seat(wlr_seat_create(display.displayPtr, scratch.allocateFrom(name)));
         }
     }
 
@@ -254,9 +254,9 @@ public final class Seat {
 
 
         Events(MemorySegment ptr) {
-            requestSetCursor    = Signal.of(wlr_seat.events.request_set_cursor(ptr), PointerRequestSetCursorEvent::new);
-            requestSetSelection = Signal.of(wlr_seat.events.request_set_selection(ptr), RequestSetSelectionEvent::new);
-            destroy             = Signal.of(wlr_seat.events.destroy(ptr), Seat::new);
+            requestSetCursor    = Signal.of(wlr_seat.events.request_set_cursor(ptr), PointerRequestSetCursorEvent::new, "wlr_seat.events.request_set_cursor");
+            requestSetSelection = Signal.of(wlr_seat.events.request_set_selection(ptr), RequestSetSelectionEvent::new, "wlr_seat.events.request_set_selection");
+            destroy             = Signal.of(wlr_seat.events.destroy(ptr), Seat::new, "wlr_seat.events.destroy");
         }
     }
 }
\ No newline at end of file
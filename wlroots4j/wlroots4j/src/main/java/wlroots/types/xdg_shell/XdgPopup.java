@@ -53,7 +53,7 @@ public class XdgPopup {
 
 
     public Surface getParent() {
-        return new Surface(wlr_xdg_popup.parent(xdgPopupPtr));
+        return Surface.ofPtr(wlr_xdg_popup.parent(xdgPopupPtr));
     }
 
 
@@ -71,10 +71,10 @@ public class XdgPopup {
 
 
         Events(MemorySegment ptr) {
-            this.destroy = Signal.of(wlr_xdg_popup.events.destroy(ptr));
+            this.destroy = Signal.of(wlr_xdg_popup.events.destroy(ptr), "wlr_xdg_popup.events.destroy");
 
             var baseAckConfigureSignalPtr = getBase().events.ackConfigure.signalPtr;
-            this.ackConfigure = Signal.of(baseAckConfigureSignalPtr, XdgSurfaceConfigure.Popup::new);
+            this.ackConfigure = Signal.of(baseAckConfigureSignalPtr, XdgSurfaceConfigure.Popup::new, "wlr_xdg_surface.events.ack_configure");
         }
 
 
@@ -48,9 +48,9 @@ public class XdgShell {
 
         Events(MemorySegment eventsPtr) {
             this.eventsPtr   = eventsPtr;
-            this.newToplevel = Signal.of(wlr_xdg_shell.events.new_toplevel(eventsPtr), XdgToplevel::new);
-            this.newPopup    = Signal.of(wlr_xdg_shell.events.new_popup(eventsPtr),    XdgPopup::new);
-            this.destroy     = Signal.of(wlr_xdg_shell.events.destroy(eventsPtr),      XdgShell::new);
+            this.newToplevel = Signal.of(wlr_xdg_shell.events.new_toplevel(eventsPtr), XdgToplevel::ofPtr, "wlr_xdg_shell.events.new_toplevel");
+            this.newPopup    = Signal.of(wlr_xdg_shell.events.new_popup(eventsPtr),    XdgPopup::new, "wlr_xdg_shell.events.new_popup");
+            this.destroy     = Signal.of(wlr_xdg_shell.events.destroy(eventsPtr),      XdgShell::new, "wlr_xdg_shell.events.destroy");
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package wlroots.types.xdg_shell;
 
 import jextract.wlroots.wlr_xdg_surface;
+import nylon.EnumTable;
+import nylon.NativeEnum;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import wayland.server.Signal;
@@ -54,7 +56,7 @@ public class XdgSurface {
 
 
     public Surface getSurface() {
-        return new Surface(wlr_xdg_surface.surface(xdgSurfacePtr));
+        return Surface.ofPtr(wlr_xdg_surface.surface(xdgSurfacePtr));
     }
 
 
@@ -107,7 +109,7 @@ public class XdgSurface {
     // *** Associated ***
     //
 
-    public enum SurfaceRole {
+    public enum SurfaceRole implements NativeEnum {
         None(WLR_XDG_SURFACE_ROLE_NONE()),
         Toplevel(WLR_XDG_SURFACE_ROLE_TOPLEVEL()),
         Popup(WLR_XDG_SURFACE_ROLE_POPUP());
@@ -115,18 +117,22 @@ public class XdgSurface {
 
         public final int value;
 
+        private static final EnumTable<SurfaceRole> table = EnumTable.of(SurfaceRole.class, "wlr_xdg_surface_role");
+
 
         SurfaceRole(int value) {
             this.value = value;
         }
 
 
-        public static SurfaceRole of(int value) {
-            if (value == WLR_XDG_SURFACE_ROLE_NONE()) return None;
-            if (value == WLR_XDG_SURFACE_ROLE_TOPLEVEL()) return Toplevel;
-            if (value == WLR_XDG_SURFACE_ROLE_POPUP()) return Popup;
+        @Override
+        public int value() {
+            return value;
+        }
 
-            throw new RuntimeException("Invalid enum value from C code for wlr_xdg_surface_role");
+
+        public static SurfaceRole of(int value) {
+            return table.of(value);
         }
     }
 
@@ -147,8 +153,8 @@ public class XdgSurface {
         public Events(MemorySegment eventsPtr) {
             assert !eventsPtr.equals(NULL);
             this.eventsPtr = eventsPtr;
-            this.destroy = Signal.of(wlr_xdg_surface.events.destroy(eventsPtr));
-            this.ackConfigure = Signal.of(wlr_xdg_surface.events.ack_configure(eventsPtr), XdgSurfaceConfigure::new);
+            this.destroy = Signal.of(wlr_xdg_surface.events.destroy(eventsPtr), "wlr_xdg_surface.events.destroy");
+            this.ackConfigure = Signal.of(wlr_xdg_surface.events.ack_configure(eventsPtr), XdgSurfaceConfigure::new, "wlr_xdg_surface.events.ack_configure");
         }
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package wlroots.types.xdg_shell;
 
+import jextract.wlroots.wlr_surface;
+import jextract.wlroots.wlr_xdg_surface;
 import jextract.wlroots.wlr_xdg_toplevel;
 import jextract.wlroots.wlr_xdg_toplevel_move_event;
 import jextract.wlroots.wlr_xdg_toplevel_resize_event;
@@ -8,22 +10,29 @@ import org.jspecify.annotations.Nullable;
 import wayland.server.Signal;
 import wayland.server.Signal.Signal0;
 import wayland.server.Signal.Signal1;
-import wayland.util.Edge;
+import wayland.util.EdgeMask;
 import wlroots.types.compositor.Surface;
 import wlroots.types.seat.SeatClient;
+import wlroots.util.WrapperCache;
 
 import java.lang.foreign.MemorySegment;
-import java.util.EnumSet;
 
 import static java.lang.foreign.MemorySegment.NULL;
 import static jextract.wlroots.wlr.*;
 
 
+/// Use {@link #ofPtr(MemorySegment)} to get the wrapper of a native toplevel: it always returns the same
+/// object for the same toplevel, so they can be compared by identity.
 @NullMarked
 public class XdgToplevel {
     public final MemorySegment xdgToplevelPtr;
     public final Events events;
 
+    /// Entries are bound to the addon set of the base `wlr_surface`, the toplevel itself doesn't have one. A
+    /// toplevel that's re-created at the same address on the same surface gets the old wrapper, which is
+    /// fine since the wrapper holds no state besides the pointers.
+    private static final WrapperCache<XdgToplevel> cache = new WrapperCache<>("wlroots4j-xdg-toplevel");
+
 
     public XdgToplevel(MemorySegment ptr) {
         assert !ptr.equals(NULL);
@@ -48,8 +57,15 @@ public class XdgToplevel {
     }
 
 
+    public static XdgToplevel ofPtr(MemorySegment ptr) {
+        assert !ptr.equals(NULL);
+        var surfacePtr = wlr_xdg_surface.surface(wlr_xdg_toplevel.base(ptr));
+        return cache.getOrCreate(ptr, wlr_surface.addons(surfacePtr), XdgToplevel::new);
+    }
+
+
     public static @Nullable XdgToplevel ofPtrOrNull(MemorySegment ptr) {
-        return !ptr.equals(NULL) ? new XdgToplevel(ptr) : null;
+        return !ptr.equals(NULL) ? ofPtr(ptr) : null;
     }
 
 
@@ -59,7 +75,7 @@ public class XdgToplevel {
     /// the xdg_surface/xdg_toplevel objects have been destroyed.
     public static @Nullable XdgToplevel tryFromSurface(Surface surface) {
         var xdgToplevelPtr = wlr_xdg_toplevel_try_from_wlr_surface(surface.surfacePtr);
-        return !xdgToplevelPtr.equals(NULL) ? new XdgToplevel(xdgToplevelPtr) : null;
+        return XdgToplevel.ofPtrOrNull(xdgToplevelPtr);
     }
 
 
@@ -129,14 +145,14 @@ public class XdgToplevel {
 
 
         Events(MemorySegment eventsPtr) {
-            this.destroy           = Signal.of(wlr_xdg_toplevel.events.destroy(eventsPtr));
-            this.requestMove       = Signal.of(wlr_xdg_toplevel.events.request_move(eventsPtr),   MoveEvent::new);
-            this.requestResize     = Signal.of(wlr_xdg_toplevel.events.request_resize(eventsPtr), ResizeEvent::new);
-            this.requestMaximize   = Signal.of(wlr_xdg_toplevel.events.request_maximize(eventsPtr));
-            this.requestFullscreen = Signal.of(wlr_xdg_toplevel.events.request_fullscreen(eventsPtr));
+            this.destroy           = Signal.of(wlr_xdg_toplevel.events.destroy(eventsPtr), "wlr_xdg_toplevel.events.destroy");
+            this.requestMove       = Signal.of(wlr_xdg_toplevel.events.request_move(eventsPtr),   MoveEvent::new, "wlr_xdg_toplevel.events.request_move");
+            this.requestResize     = Signal.of(wlr_xdg_toplevel.events.request_resize(eventsPtr), ResizeEvent::new, "wlr_xdg_toplevel.events.request_resize");
+            this.requestMaximize   = Signal.of(wlr_xdg_toplevel.events.request_maximize(eventsPtr), "wlr_xdg_toplevel.events.request_maximize");
+            this.requestFullscreen = Signal.of(wlr_xdg_toplevel.events.request_fullscreen(eventsPtr), "wlr_xdg_toplevel.events.request_fullscreen");
 
             var baseAckConfigureSignalPtr = getBase().events.ackConfigure.signalPtr;
-            this.ackConfigure = Signal.of(baseAckConfigureSignalPtr, XdgSurfaceConfigure.Toplevel::new);
+            this.ackConfigure = Signal.of(baseAckConfigureSignalPtr, XdgSurfaceConfigure.Toplevel::new, "wlr_xdg_surface.events.ack_configure");
         }
     }
 
@@ -149,7 +165,7 @@ public class XdgToplevel {
 
 
         public MoveEvent(MemorySegment ptr) {
-            toplevel = new XdgToplevel(wlr_xdg_toplevel_move_event.toplevel(ptr));
+            toplevel = XdgToplevel.ofPtr(wlr_xdg_toplevel_move_event.toplevel(ptr));
             seat = new SeatClient(wlr_xdg_toplevel_move_event.seat(ptr));
             serial = wlr_xdg_toplevel_move_event.serial(ptr);
         }
@@ -161,14 +177,14 @@ public class XdgToplevel {
         public final XdgToplevel toplevel;
         public final SeatClient seat;
         public final int serial;
-        public final EnumSet<Edge> edges;
+        public final EdgeMask edges;
 
 
         public ResizeEvent(MemorySegment ptr) {
-            toplevel = new XdgToplevel(wlr_xdg_toplevel_resize_event.toplevel(ptr));
+            toplevel = XdgToplevel.ofPtr(wlr_xdg_toplevel_resize_event.toplevel(ptr));
             seat = new SeatClient(wlr_xdg_toplevel_resize_event.seat(ptr));
             serial = wlr_xdg_toplevel_resize_event.serial(ptr);
-            edges = Edge.fromBitset(wlr_xdg_toplevel_resize_event.edges(ptr));
+            edges = new EdgeMask(wlr_xdg_toplevel_resize_event.edges(ptr));
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package wlroots.types.xdg_shell;
 
 import jextract.wlroots.wlr_xdg_toplevel_configure;
+import nylon.EnumTable;
+import nylon.NativeEnum;
 import org.jspecify.annotations.NullMarked;
 
 import java.lang.foreign.MemorySegment;
@@ -50,34 +52,34 @@ public class XdgToplevelConfigure {
 
 
     /// ` enum wlr_xdg_toplevel_configure_field {}`
-    public enum Field {
+    public enum Field implements NativeEnum {
         Bounds(WLR_XDG_TOPLEVEL_CONFIGURE_BOUNDS()),
         WmCapabilities(WLR_XDG_TOPLEVEL_CONFIGURE_WM_CAPABILITIES());
 
 
         public final int value;
 
+        private static final EnumTable<Field> table = EnumTable.of(Field.class, "wlr_xdg_toplevel_configure_field");
+
 
         Field(int value) {
             this.value = value;
         }
 
 
-        public static Field of(int value) {
-            if (value == WLR_XDG_TOPLEVEL_CONFIGURE_BOUNDS())          return Bounds;
-            if (value == WLR_XDG_TOPLEVEL_CONFIGURE_WM_CAPABILITIES()) return WmCapabilities;
-
-            throw new RuntimeException("Invalid enum value from C code for wlr_xdg_toplevel_configure_field");
+        @Override
+        public int value() {
+            return value;
         }
 
 
-        public static EnumSet<Field> fromBitset(int bitset) {
-            var set = EnumSet.noneOf(Field.class);
+        public static Field of(int value) {
+            return table.of(value);
+        }
 
-            if ((Bounds.value         & bitset) != 0) set.add(Bounds);
-            if ((WmCapabilities.value & bitset) != 0) set.add(WmCapabilities);
 
-            return set;
+        public static EnumSet<Field> fromBitset(int bitset) {
+            return table.fromBitset(bitset);
         }
     }
 }
\ No newline at end of file
@@ -6,6 +6,10 @@ import org.jspecify.annotations.NullMarked;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
+import static nylon.Utils.firstInt;
+import static nylon.Utils.secondInt;
+
 
 /// A box representing a rectangle region in a 2D space.
 ///
@@ -15,6 +19,13 @@ import java.lang.foreign.MemorySegment;
 public class Box {
     public final MemorySegment boxPtr;
 
+    static {
+        // snapshot() reads the fields in pairs
+        assert wlr_box.y$offset() == wlr_box.x$offset() + 4;
+        assert wlr_box.width$offset() == wlr_box.x$offset() + 8;
+        assert wlr_box.height$offset() == wlr_box.x$offset() + 12;
+    }
+
 
     public Box(MemorySegment boxPtr) {
         this.boxPtr = boxPtr;
@@ -37,6 +48,19 @@ public class Box {
     }
 
 
+    /// Copy of the box fields, read with two memory accesses instead of one per field. Use when reading more
+    /// than one field, it also doesn't change when the native box does.
+    public Snapshot snapshot() {
+        var xy = boxPtr.get(JAVA_LONG_UNALIGNED, wlr_box.x$offset());
+        var size = boxPtr.get(JAVA_LONG_UNALIGNED, wlr_box.width$offset());
+        return new Snapshot(firstInt(xy), secondInt(xy), firstInt(size), secondInt(size));
+    }
+
+
+    public record Snapshot(int x, int y, int width, int height) {
+    }
+
+
     @Override
     public String toString() {
         return "Box[" +
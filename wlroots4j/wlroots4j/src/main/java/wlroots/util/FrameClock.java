@@ -0,0 +1,47 @@
+package wlroots.util;
+
+import jextract.wlroots.timespec;
+import org.jspecify.annotations.NullMarked;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+
+/// One reusable `struct timespec` for frame timestamps, e.g. for
+/// {@link wlroots.types.scene.SceneOutput#sendFrameDone(FrameClock)}. Allocate one per output and reuse it on
+/// every frame.
+///
+/// {@link #now()} takes the time from {@link System#nanoTime()}, which on Linux reads `CLOCK_MONOTONIC`, the
+/// clock wlroots and frame callbacks use. That avoids a `clock_gettime()` downcall per frame.
+///
+/// Convenience class, does not exist in wlroots.
+@NullMarked
+public final class FrameClock {
+    public final MemorySegment timespecPtr;
+
+
+    /// @param arena Arena for the `struct timespec`, must live as long as this clock is used
+    public FrameClock(Arena arena) {
+        this.timespecPtr = timespec.allocate(arena);
+    }
+
+
+    /// Set the timestamp to the current monotonic time.
+    public FrameClock now() {
+        return set(System.nanoTime());
+    }
+
+
+    /// Set the timestamp to `monotonicNanos` of `CLOCK_MONOTONIC` time.
+    public FrameClock set(long monotonicNanos) {
+        timespec.tv_sec(timespecPtr, monotonicNanos / 1_000_000_000L);
+        timespec.tv_nsec(timespecPtr, monotonicNanos % 1_000_000_000L);
+        return this;
+    }
+
+
+    /// @return Timestamp in nanoseconds
+    public long nanos() {
+        return timespec.tv_sec(timespecPtr) * 1_000_000_000L + timespec.tv_nsec(timespecPtr);
+    }
+}
@@ -1,8 +1,9 @@
 package wlroots.util;
 
 import jextract.wlroots.wlr;
+import nylon.NativeEnum;
+import nylon.ScratchAllocator;
 
-import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 
 import static jextract.wlroots.wlr.*;
@@ -23,11 +24,11 @@ public final class Log {
 
 
     public static void log(Importance verbosity, String message) {
-        try (Arena arena = Arena.ofConfined()) {
+        try (var scratch = ScratchAllocator.acquire()) {
             // NOTE: Only specify makeInvoker() arguments when actually using the varargs, here
             //       we just use the first two regular parameters!
             var invoker = wlr._wlr_log.makeInvoker();
-            invoker.apply(verbosity.idx, arena.allocateFrom(message));
+            invoker.apply(verbosity.idx, scratch.allocateFrom(message));
         }
     }
 
@@ -52,7 +53,7 @@ public final class Log {
     }
 
 
-    public enum Importance {
+    public enum Importance implements NativeEnum {
         Silent(WLR_SILENT()),
         Error(WLR_ERROR()),
         Info(WLR_INFO()),
@@ -65,5 +66,11 @@ public final class Log {
         Importance(int constant) {
             this.idx = constant;
         }
+
+
+        @Override
+        public int value() {
+            return idx;
+        }
     }
 }
\ No newline at end of file
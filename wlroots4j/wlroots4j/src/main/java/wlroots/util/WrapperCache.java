@@ -0,0 +1,131 @@
+package wlroots.util;
+
+import jextract.wlroots.wlr_addon;
+import jextract.wlroots.wlr_addon_interface;
+import nylon.LongMap;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.lang.foreign.MemorySegment.NULL;
+import static jextract.wlroots.wlr.wlr_addon_finish;
+import static jextract.wlroots.wlr.wlr_addon_init;
+
+
+/// Maps addresses of native objects to their Java wrappers, so that the same native object is always
+/// represented by the same Java object and can be compared by identity.
+///
+/// Entries are evicted when the native object is destroyed. Eviction uses a `wlr_addon` attached to an
+/// `wlr_addon_set` (`wlr_surface.addons`, `wlr_scene_node.addons`, ...): wlroots finishes the addon set only
+/// after the `destroy` signal has been emitted, so all the `destroy` handlers still get the cached wrapper.
+/// This also means no listeners get added to a signal that is being emitted for the last time, which wlroots
+/// asserts against.
+///
+/// An entry is bound to the addon set it was created with. If the same address shows up with a different
+/// addon set, the previous object is gone, and its entry gets replaced.
+///
+/// Convenience class, does not exist in wlroots. Not thread safe, use only from the event loop thread.
+@NullMarked
+public final class WrapperCache<T> {
+    private final LongMap<Entry<T>> entries = new LongMap<>();
+
+    /// One `struct wlr_addon_interface` per cache, so one native object can be in multiple caches.
+    private final MemorySegment addonInterfacePtr;
+
+    /// Called with the wrapper when its native object is destroyed, while the native object is still readable.
+    private final @Nullable Consumer<T> onEvict;
+
+    /// All entries of all caches, by `wlr_addon` address. Used by the shared destroy upcall.
+    private static final LongMap<Entry<?>> entriesByAddon = new LongMap<>();
+
+    private static final MemorySegment sharedAddonDestroyPtr =
+        wlr_addon_interface.destroy.allocate(WrapperCache::onAddonDestroy, Arena.global());
+
+
+    /// @param name Name of the addon, shown by wlroots when debugging dangling addons
+    public WrapperCache(String name) {
+        this(name, null);
+    }
+
+
+    /// @param name Name of the addon, shown by wlroots when debugging dangling addons
+    /// @param onEvict Called with the wrapper when its native object gets destroyed, e.g. to release
+    ///     resources tied to the native object
+    public WrapperCache(String name, @Nullable Consumer<T> onEvict) {
+        this.onEvict = onEvict;
+        addonInterfacePtr = wlr_addon_interface.allocate(Arena.global());
+        wlr_addon_interface.name(addonInterfacePtr, Arena.global().allocateFrom(name));
+        wlr_addon_interface.destroy(addonInterfacePtr, sharedAddonDestroyPtr);
+    }
+
+
+    /// @return Cached wrapper for the native object at `ptr`, or NULL if there isn't one
+    public @Nullable T get(MemorySegment ptr) {
+        var entry = entries.get(ptr.address());
+        return entry != null ? entry.wrapper : null;
+    }
+
+
+    /// Get the cached wrapper for the native object at `ptr`, creating it with `ctor` if it's not cached yet.
+    ///
+    /// @param addonSetPtr `struct wlr_addon_set` which gets finished when the native object is destroyed
+    public T getOrCreate(MemorySegment ptr, MemorySegment addonSetPtr, Function<MemorySegment, T> ctor) {
+        assert !ptr.equals(NULL);
+        var entry = entries.get(ptr.address());
+        if (entry != null) {
+            if (entry.addonSetAddress == addonSetPtr.address())
+                return entry.wrapper;
+            evict(entry);
+        }
+
+        var wrapper = ctor.apply(ptr);
+        var arena = Arena.ofConfined();
+        var addonPtr = wlr_addon.allocate(arena);
+        wlr_addon_init(addonPtr, addonSetPtr, ptr, addonInterfacePtr);
+
+        entry = new Entry<>(this, wrapper, ptr.address(), addonSetPtr.address(), addonPtr, arena);
+        entries.put(entry.key, entry);
+        entriesByAddon.put(addonPtr.address(), entry);
+        return wrapper;
+    }
+
+
+    public int size() {
+        return entries.size();
+    }
+
+
+    private static void evict(Entry<?> entry) {
+        wlr_addon_finish(entry.addonPtr);
+        entry.cache.entries.remove(entry.key);
+        entriesByAddon.remove(entry.addonPtr.address());
+        entry.arena.close();
+    }
+
+
+    /// Target of the shared `wlr_addon_interface.destroy` upcall.
+    private static void onAddonDestroy(MemorySegment addonPtr) {
+        var entry = entriesByAddon.get(addonPtr.address());
+        assert entry != null : "Unknown addon: " + addonPtr;
+        evict(entry);
+        entry.notifyEvicted();
+    }
+
+
+    private record Entry<T>(
+        WrapperCache<T> cache,
+        T wrapper,
+        long key,
+        long addonSetAddress,
+        MemorySegment addonPtr,
+        Arena arena
+    ) {
+        void notifyEvicted() {
+            if (cache.onEvict != null) cache.onEvict.accept(wrapper);
+        }
+    }
+}
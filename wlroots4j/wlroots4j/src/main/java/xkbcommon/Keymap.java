@@ -1,5 +1,6 @@
 package xkbcommon;
 
+import nylon.NativeEnum;
 import org.jspecify.annotations.NullMarked;
 
 import java.lang.foreign.MemorySegment;
@@ -26,7 +27,7 @@ public class Keymap {
     }
 
 
-    public enum CompileFlags {
+    public enum CompileFlags implements NativeEnum {
         NO_FLAGS(XKB_KEYMAP_COMPILE_NO_FLAGS());
 
         public final int idx;
@@ -35,5 +36,11 @@ public class Keymap {
         CompileFlags(int constant) {
             this.idx = constant;
         }
+
+
+        @Override
+        public int value() {
+            return idx;
+        }
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package xkbcommon;
 
+import nylon.NativeEnum;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
@@ -49,7 +50,7 @@ public class XkbContext {
     }
 
 
-    public enum Flags {
+    public enum Flags implements NativeEnum {
         NO_FLAGS(XKB_CONTEXT_NO_FLAGS()),
         NO_DEFAULT_INCLUDES(XKB_CONTEXT_NO_DEFAULT_INCLUDES()),
         NO_ENVIRONMENT_NAMES(XKB_CONTEXT_NO_ENVIRONMENT_NAMES()),
@@ -61,5 +62,11 @@ public class XkbContext {
         Flags(int constant) {
             this.idx = constant;
         }
+
+
+        @Override
+        public int value() {
+            return idx;
+        }
     }
 }
\ No newline at end of file
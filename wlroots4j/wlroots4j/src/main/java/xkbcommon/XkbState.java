@@ -1,9 +1,9 @@
 package xkbcommon;
 
 import jextract.xkbcommon.xkb;
+import nylon.ScratchAllocator;
 import org.jspecify.annotations.NullMarked;
 
-import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 
 import static jextract.xkbcommon.xkb.xkb_state_key_get_one_sym;
@@ -37,8 +37,8 @@ public class XkbState {
 
     /// Get the keysyms obtained from pressing a particular key in a given keyboard state.
     public int[] keyGetSyms(int keycode) {
-        try (var arena = Arena.ofConfined()) {
-            var keySymsPtr = arena.allocate(xkb.C_POINTER);
+        try (var scratch = ScratchAllocator.acquire()) {
+            var keySymsPtr = scratch.allocate(xkb.C_POINTER);
             var numKeySyms = xkb_state_key_get_syms(xkbStatePtr, keycode, keySymsPtr);
             var keySyms = new int[numKeySyms];
             for (int i = 0; i < numKeySyms; i++) {
@@ -0,0 +1,127 @@
+package nylon
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.core.spec.style.FunSpec
+import io.kotest.matchers.equals.shouldBeEqual
+import io.kotest.matchers.nulls.shouldBeNull
+import wayland.PointerAxisSource
+import wayland.SeatCapability
+import wayland.util.Edge
+import wayland.util.EdgeMask
+import wlroots.types.input.InputDeviceType
+import wlroots.types.keyboard.KeyboardModifier
+import wlroots.types.keyboard.ModifierMask
+import wlroots.types.scene.SceneNode
+import java.util.EnumSet
+
+
+enum class DenseEnum(private val value: Int) : NativeEnum {
+    A(0), B(1), C(5);
+
+    override fun value() = value
+}
+
+
+enum class SparseEnum(private val value: Int) : NativeEnum {
+    // FourCC codes, and a negative value
+    Argb8888(0x34325241), Xrgb8888(0x34325258), Negative(-3);
+
+    override fun value() = value
+}
+
+
+enum class FlagEnum(private val value: Int) : NativeEnum {
+    None(0), Top(1), Bottom(2), Left(4);
+
+    override fun value() = value
+}
+
+
+class EnumTableTest : FunSpec({
+    context("Dense table") {
+        val table = EnumTable.of(DenseEnum::class.java, "dense")
+
+        test("of() returns the constant of each value") {
+            DenseEnum.entries.forEach { table.of(it.value()) shouldBeEqual it }
+        }
+        test("Values without a constant, inside and outside the range") {
+            table.lookup(2).shouldBeNull()
+            table.lookup(-1).shouldBeNull()
+            table.lookup(6).shouldBeNull()
+            table.lookup(Int.MIN_VALUE).shouldBeNull()
+            shouldThrow<RuntimeException> { table.of(3) }
+        }
+    }
+
+    context("Sparse table") {
+        val table = EnumTable.of(SparseEnum::class.java, "sparse")
+
+        test("of() returns the constant of each value") {
+            SparseEnum.entries.forEach { table.of(it.value()) shouldBeEqual it }
+        }
+        test("Values without a constant") {
+            table.lookup(0).shouldBeNull()
+            table.lookup(0x34325242).shouldBeNull()
+        }
+    }
+
+    context("Bitsets") {
+        val table = EnumTable.of(FlagEnum::class.java, "flags")
+
+        test("fromBitset() never includes the constant with value 0") {
+            table.fromBitset(0) shouldBeEqual EnumSet.noneOf(FlagEnum::class.java)
+            table.fromBitset(5) shouldBeEqual EnumSet.of(FlagEnum.Top, FlagEnum.Left)
+        }
+        test("toBitset()") {
+            EnumTable.toBitset(EnumSet.of(FlagEnum.Bottom, FlagEnum.Left)) shouldBeEqual 6
+        }
+        test("asSet() is a view of the same constants as fromBitset()") {
+            for (bitset in 0..7) {
+                table.asSet(bitset) shouldBeEqual table.fromBitset(bitset)
+                table.asSet(bitset).size shouldBeEqual table.fromBitset(bitset).size
+            }
+            (FlagEnum.None in table.asSet(7)) shouldBeEqual false
+        }
+    }
+
+    context("Binding enums round trip through their C values") {
+        test("InputDeviceType") {
+            InputDeviceType.entries.forEach { InputDeviceType.of(it.value) shouldBeEqual it }
+        }
+        test("SceneNode.Type") {
+            SceneNode.Type.entries.forEach { SceneNode.Type.of(it.value) shouldBeEqual it }
+        }
+        test("PointerAxisSource") {
+            PointerAxisSource.entries.forEach { PointerAxisSource.of(it.value) shouldBeEqual it }
+        }
+        test("Flags") {
+            SeatCapability.fromBitset(SeatCapability.toBitset(EnumSet.allOf(SeatCapability::class.java))) shouldBeEqual
+                EnumSet.allOf(SeatCapability::class.java)
+            KeyboardModifier.fromBitset(KeyboardModifier.Alt.value or KeyboardModifier.Logo.value) shouldBeEqual
+                EnumSet.of(KeyboardModifier.Alt, KeyboardModifier.Logo)
+            Edge.fromBitset(Edge.Top.value or Edge.Right.value) shouldBeEqual EnumSet.of(Edge.Top, Edge.Right)
+        }
+    }
+
+    context("Masks") {
+        test("ModifierMask") {
+            val mask = ModifierMask.of(KeyboardModifier.Control, KeyboardModifier.Alt)
+            mask.contains(KeyboardModifier.Alt) shouldBeEqual true
+            mask.contains(KeyboardModifier.Shift) shouldBeEqual false
+            mask.containsAll(ModifierMask.of(KeyboardModifier.Alt)) shouldBeEqual true
+            mask.containsAll(ModifierMask.of(KeyboardModifier.Alt, KeyboardModifier.Shift)) shouldBeEqual false
+            mask.containsAny(ModifierMask.of(KeyboardModifier.Alt, KeyboardModifier.Shift)) shouldBeEqual true
+            mask.without(KeyboardModifier.Control) shouldBeEqual ModifierMask.of(KeyboardModifier.Alt)
+            mask.asSet() shouldBeEqual mask.toEnumSet()
+            ModifierMask.NONE.isEmpty shouldBeEqual true
+        }
+        test("EdgeMask") {
+            val mask = EdgeMask.of(Edge.Top, Edge.Left)
+            (Edge.Top in mask) shouldBeEqual true
+            (Edge.Bottom in mask) shouldBeEqual false
+            (Edge.None in mask) shouldBeEqual false
+            mask.with(Edge.Right).asSet() shouldBeEqual EnumSet.of(Edge.Top, Edge.Left, Edge.Right)
+            EdgeMask.of(Edge.None) shouldBeEqual EdgeMask.NONE
+        }
+    }
+})
@@ -0,0 +1,35 @@
+package nylon
+
+import io.kotest.core.spec.style.FunSpec
+import io.kotest.matchers.doubles.plusOrMinus
+import io.kotest.matchers.equals.shouldBeEqual
+import io.kotest.matchers.shouldBe
+
+
+class LatencyHistogramTest : FunSpec({
+    test("small values are exact") {
+        val histogram = LatencyHistogram()
+        (0L..63L).forEach { histogram.record(it) }
+        histogram.percentile(50.0) shouldBeEqual 31L
+        histogram.percentile(100.0) shouldBeEqual 63L
+    }
+
+    test("percentiles are within the bucket precision") {
+        val histogram = LatencyHistogram()
+        (1L..1000L).forEach { histogram.record(it * 1000) }
+
+        histogram.count() shouldBeEqual 1000L
+        histogram.max() shouldBeEqual 1_000_000L
+        histogram.percentile(50.0).toDouble() shouldBe (500_000.0 plusOrMinus 500_000.0 * 0.04)
+        histogram.percentile(99.0).toDouble() shouldBe (990_000.0 plusOrMinus 990_000.0 * 0.04)
+        histogram.percentile(100.0) shouldBeEqual 1_000_000L
+    }
+
+    test("reset clears everything") {
+        val histogram = LatencyHistogram()
+        histogram.record(12345)
+        histogram.reset()
+        histogram.count() shouldBeEqual 0L
+        histogram.percentile(99.0) shouldBeEqual 0L
+    }
+})
@@ -0,0 +1,57 @@
+package nylon
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.core.spec.style.FunSpec
+import io.kotest.matchers.equals.shouldBeEqual
+
+
+class LongRingBufferTest : FunSpec({
+    test("keeps samples in insertion order until full") {
+        val buffer = LongRingBuffer(4)
+        buffer.add(3)
+        buffer.add(1)
+        buffer.size() shouldBeEqual 2
+        buffer.toArray().toList() shouldBeEqual listOf(3L, 1L)
+    }
+
+    test("wraps around, keeping the last samples, oldest first") {
+        val buffer = LongRingBuffer(4)
+        for (i in 1L..10L) buffer.add(i)
+        buffer.size() shouldBeEqual 4
+        buffer.toArray().toList() shouldBeEqual listOf(7L, 8L, 9L, 10L)
+    }
+
+    test("sorted() after wraparound") {
+        val buffer = LongRingBuffer(3)
+        listOf(50L, 10L, 40L, 30L, 20L).forEach(buffer::add)
+        buffer.sorted().toList() shouldBeEqual listOf(20L, 30L, 40L)
+        // The buffer itself keeps its order
+        buffer.toArray().toList() shouldBeEqual listOf(40L, 30L, 20L)
+    }
+
+    test("clear()") {
+        val buffer = LongRingBuffer(2)
+        buffer.add(1)
+        buffer.add(2)
+        buffer.add(3)
+        buffer.clear()
+        buffer.size() shouldBeEqual 0
+        buffer.toArray().size shouldBeEqual 0
+        buffer.add(4)
+        buffer.toArray().toList() shouldBeEqual listOf(4L)
+    }
+
+    test("nearest-rank percentiles") {
+        val sorted = (1L..100L).toList().toLongArray()
+        LongRingBuffer.percentile(sorted, 50.0) shouldBeEqual 50L
+        LongRingBuffer.percentile(sorted, 99.0) shouldBeEqual 99L
+        LongRingBuffer.percentile(sorted, 100.0) shouldBeEqual 100L
+        LongRingBuffer.percentile(sorted, 0.0) shouldBeEqual 1L
+        LongRingBuffer.percentile(longArrayOf(), 50.0) shouldBeEqual 0L
+        LongRingBuffer.percentile(longArrayOf(7), 90.0) shouldBeEqual 7L
+    }
+
+    test("capacity must be positive") {
+        shouldThrow<IllegalArgumentException> { LongRingBuffer(0) }
+    }
+})
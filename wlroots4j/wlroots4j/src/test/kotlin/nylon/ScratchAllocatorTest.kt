@@ -0,0 +1,47 @@
+package nylon
+
+import io.kotest.core.spec.style.FunSpec
+import io.kotest.matchers.equals.shouldBeEqual
+import io.kotest.matchers.longs.shouldBeGreaterThan
+import java.lang.foreign.ValueLayout
+
+
+class ScratchAllocatorTest : FunSpec({
+    test("memory is reused after the scope is closed") {
+        val first = ScratchAllocator.acquire().use { it.allocate(ValueLayout.JAVA_LONG).address() }
+        val second = ScratchAllocator.acquire().use { it.allocate(ValueLayout.JAVA_LONG).address() }
+        second shouldBeEqual first
+    }
+
+    test("nested scope doesn't overwrite the outer one") {
+        ScratchAllocator.acquire().use { outer ->
+            val outerSegment = outer.allocate(ValueLayout.JAVA_LONG)
+            outerSegment.set(ValueLayout.JAVA_LONG, 0, 42L)
+
+            ScratchAllocator.acquire().use { inner ->
+                val innerSegment = inner.allocate(ValueLayout.JAVA_LONG)
+                innerSegment.address() shouldBeGreaterThan outerSegment.address()
+                innerSegment.set(ValueLayout.JAVA_LONG, 0, -1L)
+            }
+
+            outerSegment.get(ValueLayout.JAVA_LONG, 0) shouldBeEqual 42L
+        }
+    }
+
+    test("allocations are aligned and zeroed") {
+        ScratchAllocator.acquire().use { scratch ->
+            scratch.allocate(ValueLayout.JAVA_BYTE).set(ValueLayout.JAVA_BYTE, 0, 7)
+            val segment = scratch.allocate(ValueLayout.JAVA_DOUBLE)
+            (segment.address() % 8) shouldBeEqual 0L
+            segment.get(ValueLayout.JAVA_DOUBLE, 0) shouldBeEqual 0.0
+        }
+    }
+
+    test("large allocations fall back to an arena") {
+        ScratchAllocator.acquire().use { scratch ->
+            val big = scratch.allocate(64 * 1024)
+            big.byteSize() shouldBeEqual 64 * 1024L
+            big.fill(1)
+        }
+    }
+})
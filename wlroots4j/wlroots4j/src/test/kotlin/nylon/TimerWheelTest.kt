@@ -0,0 +1,63 @@
+package nylon
+
+import io.kotest.core.spec.style.FunSpec
+import io.kotest.matchers.equals.shouldBeEqual
+
+
+class TimerWheelTest : FunSpec({
+    test("timeouts fire at their deadline, in order") {
+        val wheel = TimerWheel(1000)
+        val fired = mutableListOf<Pair<Long, Long>>()
+        // Covers all the levels, and the delays past the last one
+        val delays = listOf(1L, 63L, 64L, 65L, 4095L, 4096L, 300_000L, 20_000_000L, 100_000_000L)
+        for (delay in delays.shuffled()) {
+            wheel.schedule(delay) { fired += delay to wheel.now() }
+        }
+
+        wheel.advance(1000 + 200_000_000)
+
+        fired shouldBeEqual delays.map { it to 1000 + it }
+        wheel.size() shouldBeEqual 0
+    }
+
+    test("cancelled timeouts don't fire") {
+        val wheel = TimerWheel(0)
+        var fired = 0
+        val first = wheel.schedule(10) { fired++ }
+        val second = wheel.schedule(10_000) { fired++ }
+        wheel.schedule(10) { fired++ }
+
+        first.cancel() shouldBeEqual true
+        second.cancel() shouldBeEqual true
+        first.cancel() shouldBeEqual false
+        wheel.size() shouldBeEqual 1
+
+        wheel.advance(20_000) shouldBeEqual 1
+        fired shouldBeEqual 1
+    }
+
+    test("tasks can schedule and cancel timeouts") {
+        val wheel = TimerWheel(0)
+        val fired = mutableListOf<Long>()
+        lateinit var cancelled: TimerWheel.Timeout
+        wheel.schedule(5) {
+            fired += wheel.now()
+            cancelled.cancel()
+            wheel.schedule(0) { fired += wheel.now() }
+        }
+        cancelled = wheel.schedule(6) { fired += -1 }
+
+        wheel.advance(100)
+
+        fired shouldBeEqual listOf(5L, 6L)
+    }
+
+    test("nextExpiry is never after the earliest deadline") {
+        val wheel = TimerWheel(123)
+        wheel.nextExpiry() shouldBeEqual Long.MAX_VALUE
+        wheel.schedule(5000) {}
+        check(wheel.nextExpiry() <= 123 + 5000)
+        wheel.schedule(7) {}
+        wheel.nextExpiry() shouldBeEqual 130L
+    }
+})
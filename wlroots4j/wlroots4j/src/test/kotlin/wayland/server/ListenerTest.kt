@@ -0,0 +1,124 @@
+package wayland.server
+
+import io.kotest.core.spec.style.FunSpec
+import io.kotest.matchers.booleans.shouldBeFalse
+import io.kotest.matchers.booleans.shouldBeTrue
+import io.kotest.matchers.equals.shouldBeEqual
+import jextract.wayland.wl.wl_signal_emit_mutable
+import jextract.wayland.wl_signal
+import java.lang.foreign.Arena
+import java.lang.foreign.MemorySegment.NULL
+
+
+fun allocateSignal(arena: Arena): Signal.Signal0 {
+    val signal = Signal.of(wl_signal.allocate(arena))
+    signal.listenerList.init()
+    return signal
+}
+
+
+class ListenerTest : FunSpec({
+
+    val arena = Arena.global()
+
+    context("Soak test, native memory must not grow") {
+        val signal = allocateSignal(arena)
+
+        test("Add and remove 10000 listeners one by one") {
+            val baseline = Listener.liveCount()
+            val listeners = (0 until 10_000).map {
+                val listener = signal.add(Runnable {})
+                listener.remove()
+                listener
+            }
+            Listener.liveCount() shouldBeEqual baseline
+            listeners.all { it.isMemoryFreed() }.shouldBeTrue()
+            signal.listenerList.empty().shouldBeTrue()
+        }
+
+        test("Add 5000 listeners to a group, then close it") {
+            val baseline = Listener.liveCount()
+            val group = ListenerGroup()
+            val listeners = (0 until 5_000).map { group.add(signal.add(Runnable {})) }
+            signal.listenerList.length() shouldBeEqual 5_000
+            Listener.liveCount() shouldBeEqual baseline + 5_000
+            listeners.none { it.isMemoryFreed() }.shouldBeTrue()
+
+            group.close()
+            group.size() shouldBeEqual 0
+            signal.listenerList.empty().shouldBeTrue()
+            Listener.liveCount() shouldBeEqual baseline
+            listeners.all { it.isMemoryFreed() }.shouldBeTrue()
+        }
+    }
+
+
+    context("Removing listeners while the signal is being emitted") {
+        val signal = allocateSignal(arena)
+
+        test("Listener removing itself is freed after the callback returns") {
+            val baseline = Listener.liveCount()
+            var calls = 0
+            val listeners = (0 until 1_000).map {
+                signal.add { self: Listener ->
+                    calls++
+                    self.remove()
+                }
+            }
+            Listener.liveCount() shouldBeEqual baseline + 1_000
+
+            wl_signal_emit_mutable(signal.signalPtr, NULL)
+            calls shouldBeEqual 1_000
+            Listener.liveCount() shouldBeEqual baseline
+            listeners.all { it.isMemoryFreed() }.shouldBeTrue()
+            signal.listenerList.empty().shouldBeTrue()
+
+            // Nobody left to call
+            wl_signal_emit_mutable(signal.signalPtr, NULL)
+            calls shouldBeEqual 1_000
+        }
+
+        test("Closing a group from a callback removes all of its listeners") {
+            val baseline = Listener.liveCount()
+            val group = ListenerGroup()
+            var calls = 0
+            repeat(10) {
+                group.add(signal.add(Runnable {
+                    calls++
+                    group.close()
+                }))
+            }
+
+            wl_signal_emit_mutable(signal.signalPtr, NULL)
+            calls shouldBeEqual 1
+            Listener.liveCount() shouldBeEqual baseline
+            signal.listenerList.empty().shouldBeTrue()
+        }
+    }
+
+
+    context("Removing twice") {
+        val signal = allocateSignal(arena)
+
+        test("Second remove() is a no-op") {
+            val baseline = Listener.liveCount()
+            val listener = signal.add(Runnable {})
+            listener.remove()
+            listener.remove()
+            listener.isRemoved.shouldBeTrue()
+            Listener.liveCount() shouldBeEqual baseline
+        }
+
+        test("Listeners in caller-managed memory can be added again after remove()") {
+            val listener = Listener.allocate(arena) { _, _ -> }
+            repeat(2) {
+                signal.listenerList.append(listener)
+                listener.isRemoved.shouldBeFalse()
+                listener.remove()
+                listener.isRemoved.shouldBeTrue()
+                signal.listenerList.empty().shouldBeTrue()
+            }
+            listener.remove()
+        }
+    }
+})
@@ -0,0 +1,118 @@
+package wayland.server
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.core.spec.style.FunSpec
+import io.kotest.matchers.booleans.shouldBeTrue
+import io.kotest.matchers.equals.shouldBeEqual
+import jextract.libc.libc.EFD_CLOEXEC
+import jextract.libc.libc.EFD_NONBLOCK
+import jextract.libc.libc.eventfd
+import jextract.libc.libc.read
+import jextract.libc.libc.write
+import jextract.wayland.wl.wl_event_loop_create
+import jextract.wayland.wl.wl_event_loop_destroy
+import java.lang.foreign.Arena
+import java.lang.foreign.ValueLayout.JAVA_LONG
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.atomic.AtomicInteger
+
+
+/** Dispatch [eventLoop] until [done], for at most [timeoutMs]. */
+fun dispatchUntil(eventLoop: EventLoop, timeoutMs: Long = 5_000, done: () -> Boolean) {
+    val deadline = System.currentTimeMillis() + timeoutMs
+    while (!done() && System.currentTimeMillis() < deadline) {
+        eventLoop.dispatch(10)
+    }
+}
+
+
+class TaskQueueTest : FunSpec({
+
+    test("EventLoop.addFd calls back when the fd becomes readable") {
+        val eventLoop = EventLoop(wl_event_loop_create())
+        val arena = Arena.ofConfined()
+        val fd = eventfd(0, EFD_CLOEXEC() or EFD_NONBLOCK())
+        var readableCalls = 0
+        val source = eventLoop.addFd(arena, fd, EventLoop.READABLE) { _, mask ->
+            if (mask and EventLoop.READABLE != 0) readableCalls++
+            read(fd, arena.allocate(JAVA_LONG), 8)
+            0
+        }
+
+        eventLoop.dispatch(0)
+        readableCalls shouldBeEqual 0
+
+        write(fd, arena.allocateFrom(JAVA_LONG, 1L), 8)
+        dispatchUntil(eventLoop) { readableCalls > 0 }
+        readableCalls shouldBeEqual 1
+
+        source.remove()
+        jextract.libc.libc.close(fd)
+        wl_event_loop_destroy(eventLoop.eventLoopPtr)
+        arena.close()
+    }
+
+    test("Tasks submitted from several threads all run on the event loop thread") {
+        val eventLoop = EventLoop(wl_event_loop_create())
+        val taskQueue = TaskQueue.create(eventLoop)
+        val loopThread = Thread.currentThread()
+        val threads = 8
+        val tasksPerThread = 2_000
+        var ran = 0
+        var onLoopThread = true
+
+        val start = CountDownLatch(1)
+        val submitters = (0 until threads).map {
+            Thread.ofPlatform().start {
+                start.await()
+                repeat(tasksPerThread) {
+                    taskQueue.execute {
+                        ran++
+                        onLoopThread = onLoopThread && Thread.currentThread() == loopThread
+                    }
+                }
+            }
+        }
+        start.countDown()
+
+        dispatchUntil(eventLoop) { ran == threads * tasksPerThread }
+        submitters.forEach { it.join() }
+        dispatchUntil(eventLoop) { ran == threads * tasksPerThread }
+
+        ran shouldBeEqual threads * tasksPerThread
+        onLoopThread.shouldBeTrue()
+        taskQueue.pending() shouldBeEqual 0
+
+        taskQueue.close()
+        wl_event_loop_destroy(eventLoop.eventLoopPtr)
+    }
+
+    test("Submissions racing close() are either accepted or rejected, never lost in a closed fd") {
+        val eventLoop = EventLoop(wl_event_loop_create())
+        val taskQueue = TaskQueue.create(eventLoop)
+        val accepted = AtomicInteger()
+        val rejected = AtomicInteger()
+
+        val submitters = (0 until 4).map {
+            Thread.ofPlatform().start {
+                while (true) {
+                    try {
+                        taskQueue.execute {}
+                        accepted.incrementAndGet()
+                    } catch (_: RejectedExecutionException) {
+                        rejected.incrementAndGet()
+                        break
+                    }
+                }
+            }
+        }
+        dispatchUntil(eventLoop) { accepted.get() > 1_000 }
+        taskQueue.close()
+        submitters.forEach { it.join() }
+
+        rejected.get() shouldBeEqual 4
+        shouldThrow<RejectedExecutionException> { taskQueue.execute {} }
+        wl_event_loop_destroy(eventLoop.eventLoopPtr)
+    }
+})
@@ -6,6 +6,7 @@ import io.kotest.matchers.booleans.shouldBeTrue
 import io.kotest.matchers.equals.shouldBeEqual
 import io.kotest.matchers.equals.shouldNotBeEqual
 import io.kotest.matchers.nulls.shouldBeNull
+import jextract.wayland.wl
 import jextract.wayland.wl_list
 import java.lang.foreign.Arena
 import java.lang.foreign.MemoryLayout
@@ -226,4 +227,147 @@ class ListTest : FunSpec({
             element1.prev shouldBeEqual list.listPtr
         }
     }
-})
\ No newline at end of file
+
+
+    context("Metadata with an explicit constructor") {
+        val meta = List.ElementMetadata(ListElement::class.java, ListElement.LAYOUT, "link", ::ListElement)
+        val element = ListElement.allocate(arena, 103, 203, 303)
+        val list = List.allocate(arena, meta).apply { append(element) }
+
+        test("List.first is constructed through the given constructor") {
+            list.first!! shouldBeEqual element
+        }
+    }
+
+
+    context("Iteration") {
+        val elements = (0..4).map { ListElement.allocate(arena, it, it * 10, it * 100L) }
+        val list = List.allocate(arena, ListElement.meta).apply { elements.forEach { append(it) } }
+        val empty = List.allocate(arena, ListElement.meta)
+
+        test("Forward iteration yields the elements in order") {
+            list.toList() shouldBeEqual elements
+        }
+        test("Reverse iteration") {
+            list.reversed().toList() shouldBeEqual elements.reversed()
+        }
+        test("Stream") {
+            list.stream().map { it.getX() }.toList() shouldBeEqual listOf(0, 1, 2, 3, 4)
+        }
+        test("Empty list yields nothing") {
+            empty.iterator().hasNext().shouldBeFalse()
+            empty.reversed().toList().size shouldBeEqual 0
+            empty.cursor().next().shouldBeFalse()
+        }
+        test("Cursor yields the element addresses, and can be reused") {
+            val cursor = list.cursor()
+            repeat(2) {
+                val addresses = mutableListOf<Long>()
+                cursor.reset()
+                while (cursor.next()) addresses += cursor.elementAddress()
+                addresses shouldBeEqual elements.map { it.elementPtr.address() }
+            }
+            cursor.resetReversed()
+            cursor.next().shouldBeTrue()
+            cursor.element() shouldBeEqual elements.last()
+        }
+        test("Safe iteration allows removing the current element") {
+            val other = (0..4).map { ListElement.allocate(arena, it) }
+            val otherList = List.allocate(arena, ListElement.meta).apply { other.forEach { append(it) } }
+
+            val seen = mutableListOf<ListElement>()
+            for (element in otherList.safe()) {
+                seen += element
+                if (element.getX() % 2 == 0) element.remove()
+            }
+
+            seen shouldBeEqual other
+            otherList.toList() shouldBeEqual listOf(other[1], other[3])
+            otherList.length() shouldBeEqual 2
+        }
+    }
+
+    context("Pure Java list operations match libwayland") {
+        // Two identical lists of 5 elements each, one manipulated with libwayland, the other with ListOps
+        fun links(count: Int) = (0 until count).map { ListElement.allocate(arena, it).linkMemberPtr }
+        val nativeHead = wl_list.allocate(arena)
+        val javaHead = wl_list.allocate(arena)
+        val nativeLinks = links(5)
+        val javaLinks = links(5)
+        val nativeIndices = (listOf(nativeHead) + nativeLinks).withIndex().associate { (i, it) -> it.address() to i }
+        val javaIndices = (listOf(javaHead) + javaLinks).withIndex().associate { (i, it) -> it.address() to i }
+
+        // Structure of a list as indices (0 is the head), comparable between both lists. Removed links are -1.
+        fun shape(links: kotlin.collections.List<MemorySegment>, indices: Map<Long, Int>) =
+            links.map { (indices[wl_list.prev(it).address()] ?: -1) to (indices[wl_list.next(it).address()] ?: -1) }
+
+        fun shouldMatch() {
+            shape(listOf(javaHead) + javaLinks, javaIndices) shouldBeEqual
+                shape(listOf(nativeHead) + nativeLinks, nativeIndices)
+            ListOps.length(javaHead.address()) shouldBeEqual wl.wl_list_length(nativeHead)
+            ListOps.empty(javaHead.address()) shouldBeEqual (wl.wl_list_empty(nativeHead) == 1)
+        }
+
+        test("init") {
+            wl.wl_list_init(nativeHead)
+            ListOps.init(javaHead.address())
+            shouldMatch()
+            ListOps.empty(javaHead.address()).shouldBeTrue()
+        }
+        test("insert at the head, after elements, and at the end") {
+            wl.wl_list_insert(nativeHead, nativeLinks[0])
+            ListOps.insert(javaHead.address(), javaLinks[0].address())
+            wl.wl_list_insert(nativeHead, nativeLinks[1])
+            ListOps.insert(javaHead.address(), javaLinks[1].address())
+            wl.wl_list_insert(nativeLinks[1], nativeLinks[2])
+            ListOps.insert(javaLinks[1].address(), javaLinks[2].address())
+            wl.wl_list_insert(wl_list.prev(nativeHead), nativeLinks[3])
+            ListOps.insert(ListOps.prev(javaHead.address()), javaLinks[3].address())
+            shouldMatch()
+            ListOps.length(javaHead.address()) shouldBeEqual 4
+        }
+        test("remove from the middle and the ends, links are left NULL") {
+            wl.wl_list_remove(nativeLinks[2])
+            ListOps.remove(javaLinks[2].address())
+            wl.wl_list_remove(nativeLinks[1])
+            ListOps.remove(javaLinks[1].address())
+            wl.wl_list_remove(nativeLinks[3])
+            ListOps.remove(javaLinks[3].address())
+            shouldMatch()
+            ListOps.next(javaLinks[2].address()) shouldBeEqual 0L
+            ListOps.prev(javaLinks[2].address()) shouldBeEqual 0L
+        }
+        test("insertList") {
+            val nativeOther = wl_list.allocate(arena).also { wl.wl_list_init(it) }
+            val javaOther = wl_list.allocate(arena).also { ListOps.init(it.address()) }
+            wl.wl_list_insert(nativeOther, nativeLinks[4])
+            ListOps.insert(javaOther.address(), javaLinks[4].address())
+            wl.wl_list_insert(nativeLinks[4], nativeLinks[1])
+            ListOps.insert(javaLinks[4].address(), javaLinks[1].address())
+
+            wl.wl_list_insert_list(nativeHead, nativeOther)
+            ListOps.insertList(javaHead.address(), javaOther.address())
+            shouldMatch()
+            ListOps.length(javaHead.address()) shouldBeEqual 3
+        }
+        test("Remove everything") {
+            for (i in listOf(0, 1, 4)) {
+                wl.wl_list_remove(nativeLinks[i])
+                ListOps.remove(javaLinks[i].address())
+            }
+            shouldMatch()
+            ListOps.empty(javaHead.address()).shouldBeTrue()
+        }
+        test("Lists built by one are valid for the other") {
+            val head = wl_list.allocate(arena).also { ListOps.init(it.address()) }
+            val elements = links(3)
+            ListOps.insert(head.address(), elements[0].address())
+            wl.wl_list_insert(elements[0], elements[1])
+            ListOps.insert(elements[1].address(), elements[2].address())
+            wl.wl_list_length(head) shouldBeEqual 3
+            wl.wl_list_remove(elements[1])
+            ListOps.length(head.address()) shouldBeEqual 2
+            ListOps.next(elements[0].address()) shouldBeEqual elements[2].address()
+        }
+    }
+})